@@ -0,0 +1,102 @@
+package ru.practicum.shareit.benchmark;
+
+import lombok.experimental.UtilityClass;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import ru.practicum.shareit.ShareItApp;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.item.CommentRepository;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.UserRepository;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+@UtilityClass
+class BenchmarkFixtures {
+    static final int CHUNK_SIZE = 1_000;
+    static final BookingStatus[] STATUSES = {BookingStatus.WAITING, BookingStatus.APPROVED, BookingStatus.REJECTED};
+
+    ConfigurableApplicationContext startContext() {
+        return new SpringApplicationBuilder(ShareItApp.class)
+            .web(WebApplicationType.NONE)
+            .logStartupInfo(false)
+            .run("--spring.datasource.url=jdbc:h2:mem:benchmark-" + UUID.randomUUID(),
+                "--spring.jpa.properties.hibernate.generate_statistics=false",
+                "--logging.level.root=WARN",
+                "--logging.level.org.springframework.transaction=WARN",
+                "--logging.level.org.springframework.transaction.interceptor=WARN",
+                "--logging.level.org.springframework.orm.jpa=WARN",
+                "--logging.level.org.springframework.orm.jpa.JpaTransactionManager=WARN");
+    }
+
+    User saveUser(ConfigurableApplicationContext context, String name) {
+        User user = new User();
+        user.setName(name);
+        user.setEmail(name + "@benchmark.ru");
+        return context.getBean(UserRepository.class).save(user);
+    }
+
+    List<Item> saveItems(ConfigurableApplicationContext context, User owner, int count) {
+        ItemRepository itemRepository = context.getBean(ItemRepository.class);
+        List<Item> items = new ArrayList<>(count);
+        for (int offset = 0; offset < count; offset += CHUNK_SIZE) {
+            List<Item> chunk = new ArrayList<>(CHUNK_SIZE);
+            for (int i = offset; i < Math.min(offset + CHUNK_SIZE, count); i++) {
+                Item item = new Item();
+                item.setName("item " + i);
+                item.setDescription("description of benchmark item " + i);
+                item.setAvailable(i % 10 != 0);
+                item.setOwner(owner);
+                chunk.add(item);
+            }
+            items.addAll(itemRepository.saveAll(chunk));
+        }
+        return items;
+    }
+
+    void saveComments(ConfigurableApplicationContext context, User author, List<Item> items, int perItem) {
+        List<Comment> comments = new ArrayList<>(items.size() * perItem);
+        for (Item item : items) {
+            for (int i = 0; i < perItem; i++) {
+                Comment comment = new Comment();
+                comment.setText("comment " + i);
+                comment.setItem(item);
+                comment.setAuthor(author);
+                comments.add(comment);
+            }
+        }
+        context.getBean(CommentRepository.class).saveAll(comments);
+    }
+
+    void saveBookings(ConfigurableApplicationContext context, User booker, List<Item> items, int count) {
+        BookingRepository bookingRepository = context.getBean(BookingRepository.class);
+        LocalDateTime now = LocalDateTime.now();
+        for (int offset = 0; offset < count; offset += CHUNK_SIZE) {
+            List<Booking> chunk = new ArrayList<>(CHUNK_SIZE);
+            for (int i = offset; i < Math.min(offset + CHUNK_SIZE, count); i++) {
+                LocalDateTime start = switch (i % 3) {
+                    case 0 -> now.minusDays(i + 2);
+                    case 1 -> now.minusHours(1).minusSeconds(i);
+                    default -> now.plusDays(i + 1);
+                };
+                Booking booking = new Booking();
+                booking.setStart(start);
+                booking.setEnd(i % 3 == 1 ? now.plusDays(1) : start.plusDays(1));
+                booking.setItem(items.get(i % items.size()));
+                booking.setBooker(booker);
+                booking.setStatus(STATUSES[i / 3 % STATUSES.length]);
+                chunk.add(booking);
+            }
+            bookingRepository.saveAll(chunk);
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import ru.practicum.shareit.booking.BookingService;
+import ru.practicum.shareit.booking.dto.ResponseBookingDto;
+import ru.practicum.shareit.booking.model.BookingState;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.pagination.CursorPage;
+import ru.practicum.shareit.user.model.User;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class BookingBenchmarks {
+    static final int ITEMS = 100;
+    static final int PAGE_SIZE = 20;
+
+    @Param({"1000", "10000"})
+    int bookings;
+    @Param
+    BookingState state;
+
+    ConfigurableApplicationContext context;
+    BookingService bookingService;
+    long bookerId;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkFixtures.startContext();
+        bookingService = context.getBean(BookingService.class);
+
+        User owner = BenchmarkFixtures.saveUser(context, "owner");
+        User booker = BenchmarkFixtures.saveUser(context, "booker");
+        List<Item> items = BenchmarkFixtures.saveItems(context, owner, ITEMS);
+        BenchmarkFixtures.saveBookings(context, booker, items, bookings);
+
+        bookerId = booker.getId();
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public CursorPage<ResponseBookingDto> getBookingsByBooker() {
+        return bookingService.getBookingsByBooker(bookerId, state, null, PAGE_SIZE);
+    }
+}
@@ -0,0 +1,69 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Limit;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.ItemService;
+import ru.practicum.shareit.item.dto.ItemDtoWithComments;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.model.User;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ItemBenchmarks {
+    static final int COMMENTS_PER_ITEM = 3;
+    static final int BOOKINGS_PER_ITEM = 5;
+    static final int SEARCH_LIMIT = 20;
+
+    @Param({"100", "1000"})
+    int items;
+    @Param({"benchmark item 4"})
+    String searchText;
+
+    ConfigurableApplicationContext context;
+    ItemService itemService;
+    ItemRepository itemRepository;
+    long ownerId;
+    long itemId;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkFixtures.startContext();
+        itemService = context.getBean(ItemService.class);
+        itemRepository = context.getBean(ItemRepository.class);
+
+        User owner = BenchmarkFixtures.saveUser(context, "owner");
+        User booker = BenchmarkFixtures.saveUser(context, "booker");
+        List<Item> savedItems = BenchmarkFixtures.saveItems(context, owner, items);
+        BenchmarkFixtures.saveComments(context, booker, savedItems, COMMENTS_PER_ITEM);
+        BenchmarkFixtures.saveBookings(context, booker, savedItems, items * BOOKINGS_PER_ITEM);
+
+        ownerId = owner.getId();
+        itemId = savedItems.get(items / 2).getId();
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<ItemDtoWithComments> getItems() {
+        return itemService.getItems(ownerId);
+    }
+
+    @Benchmark
+    public ItemDtoWithComments getItemById() {
+        return itemService.getItemById(ownerId, itemId);
+    }
+
+    @Benchmark
+    public List<Item> search() {
+        return itemRepository.search(searchText, Limit.of(SEARCH_LIMIT));
+    }
+}
@@ -0,0 +1,55 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import ru.practicum.shareit.booking.dto.ResponseBookingDto;
+import ru.practicum.shareit.booking.mappers.BookingMapper;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.item.dto.ItemDtoWithComments;
+import ru.practicum.shareit.item.mappers.ItemMapper;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class MapperBenchmarks {
+    Item item;
+    Booking booking;
+
+    @Setup
+    public void setUp() {
+        User user = new User();
+        user.setId(1L);
+        user.setName("user");
+        user.setEmail("user@benchmark.ru");
+
+        item = new Item();
+        item.setId(1L);
+        item.setName("item");
+        item.setDescription("description of benchmark item");
+        item.setAvailable(true);
+        item.setOwner(user);
+
+        booking = new Booking();
+        booking.setId(1L);
+        booking.setStart(LocalDateTime.now());
+        booking.setEnd(LocalDateTime.now().plusDays(1));
+        booking.setItem(item);
+        booking.setBooker(user);
+        booking.setStatus(BookingStatus.APPROVED);
+    }
+
+    @Benchmark
+    public ResponseBookingDto mapToResponseBookingDto() {
+        return BookingMapper.mapToResponseBookingDto(booking);
+    }
+
+    @Benchmark
+    public ItemDtoWithComments mapToItemDtoWithComments() {
+        return ItemMapper.mapToItemDtoWithComments(item);
+    }
+}
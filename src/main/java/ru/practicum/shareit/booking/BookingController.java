@@ -1,15 +1,28 @@
 package ru.practicum.shareit.booking;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
 import lombok.experimental.FieldDefaults;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import ru.practicum.shareit.booking.dto.BatchBookingDto;
+import ru.practicum.shareit.booking.dto.BatchBookingResultDto;
 import ru.practicum.shareit.booking.dto.RequestBookingDto;
 import ru.practicum.shareit.booking.dto.ResponseBookingDto;
 import ru.practicum.shareit.booking.model.BookingState;
+import ru.practicum.shareit.pagination.CursorPage;
+import ru.practicum.shareit.user.UserService;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.util.List;
+import java.util.function.Consumer;
 
 @RestController
 @RequestMapping(path = "/bookings")
@@ -17,8 +30,12 @@ import java.util.List;
 @RequiredArgsConstructor
 public class BookingController {
     static final String USER_ID_HEADER = "X-Sharer-User-Id";
+    static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    static final String DEFAULT_PAGE_SIZE = "20";
 
     final BookingService bookingService;
+    final UserService userService;
+    final ObjectMapper objectMapper;
 
     @PostMapping
     public ResponseBookingDto createBooking(@RequestHeader(USER_ID_HEADER) long userId,
@@ -26,6 +43,12 @@ public class BookingController {
         return bookingService.createBooking(userId, requestBookingDto);
     }
 
+    @PostMapping("/batch")
+    public List<BatchBookingResultDto> createBookings(@RequestHeader(USER_ID_HEADER) long userId,
+                                                      @Validated @RequestBody BatchBookingDto batchBookingDto) {
+        return bookingService.createBookings(userId, batchBookingDto);
+    }
+
     @PatchMapping("/{bookingId}")
     public ResponseBookingDto reviewBooking(@RequestHeader(USER_ID_HEADER) long userId, @PathVariable long bookingId,
                                             @RequestParam boolean approved) {
@@ -33,21 +56,72 @@ public class BookingController {
     }
 
     @GetMapping("/{bookingId}")
-    public ResponseBookingDto getBookingById(@RequestHeader(USER_ID_HEADER) long userId, @PathVariable long bookingId) {
+    public ResponseBookingDto getBookingById(@RequestHeader(USER_ID_HEADER) long userId, @PathVariable long bookingId,
+                                             WebRequest webRequest) {
+        if (webRequest.checkNotModified(bookingService.getBookingTag(userId, bookingId))) {
+            return null;
+        }
         return bookingService.getBookingById(userId, bookingId);
     }
 
     @GetMapping
-    public List<ResponseBookingDto> getBookingsByBooker(@RequestHeader(USER_ID_HEADER) long userId,
-                                                        @RequestParam(required = false, defaultValue = "ALL")
-                                                        BookingState state) {
-        return bookingService.getBookingsByBooker(userId, state);
+    public ResponseEntity<List<ResponseBookingDto>> getBookingsByBooker(
+        @RequestHeader(USER_ID_HEADER) long userId,
+        @RequestParam(required = false, defaultValue = "ALL") BookingState state,
+        @RequestParam(required = false) String cursor,
+        @RequestParam(required = false, defaultValue = DEFAULT_PAGE_SIZE) int size,
+        WebRequest webRequest) {
+        if (webRequest.checkNotModified(bookingService.getBookingsByBookerTag(userId, state, cursor, size))) {
+            return null;
+        }
+        return toResponse(bookingService.getBookingsByBooker(userId, state, cursor, size));
     }
 
     @GetMapping("/owner")
-    public List<ResponseBookingDto> getBookingsByOwner(@RequestHeader(USER_ID_HEADER) long userId,
-                                                       @RequestParam(required = false, defaultValue = "ALL")
-                                                       BookingState state) {
-        return bookingService.getBookingByOwner(userId, state);
+    public ResponseEntity<List<ResponseBookingDto>> getBookingsByOwner(
+        @RequestHeader(USER_ID_HEADER) long userId,
+        @RequestParam(required = false, defaultValue = "ALL") BookingState state,
+        @RequestParam(required = false) String cursor,
+        @RequestParam(required = false, defaultValue = DEFAULT_PAGE_SIZE) int size,
+        WebRequest webRequest) {
+        if (webRequest.checkNotModified(bookingService.getBookingsByOwnerTag(userId, state, cursor, size))) {
+            return null;
+        }
+        return toResponse(bookingService.getBookingByOwner(userId, state, cursor, size));
+    }
+
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportBookingsByBooker(@RequestHeader(USER_ID_HEADER) long userId) {
+        userService.getUserById(userId);
+        return ResponseEntity.ok()
+            .contentType(MediaType.APPLICATION_NDJSON)
+            .body(outputStream -> bookingService.exportBookingsByBooker(userId, ndjsonWriter(outputStream)));
+    }
+
+    @GetMapping(value = "/owner/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportBookingsByOwner(@RequestHeader(USER_ID_HEADER) long userId) {
+        userService.getUserById(userId);
+        return ResponseEntity.ok()
+            .contentType(MediaType.APPLICATION_NDJSON)
+            .body(outputStream -> bookingService.exportBookingsByOwner(userId, ndjsonWriter(outputStream)));
+    }
+
+    private Consumer<ResponseBookingDto> ndjsonWriter(OutputStream outputStream) {
+        return responseBookingDto -> {
+            try {
+                outputStream.write(objectMapper.writeValueAsBytes(responseBookingDto));
+                outputStream.write('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        };
+    }
+
+    private ResponseEntity<List<ResponseBookingDto>> toResponse(CursorPage<ResponseBookingDto> page) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.getNextCursor() != null) {
+            response.header(NEXT_CURSOR_HEADER, page.getNextCursor());
+        }
+        return response.body(page.getContent());
     }
 }
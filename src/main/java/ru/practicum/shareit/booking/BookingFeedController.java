@@ -0,0 +1,34 @@
+package ru.practicum.shareit.booking;
+
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import ru.practicum.shareit.booking.dto.ResponseBookingDto;
+import ru.practicum.shareit.booking.model.BookingState;
+
+@RestController
+@RequestMapping(path = "/feed/bookings", produces = MediaType.APPLICATION_NDJSON_VALUE)
+@FieldDefaults(level = AccessLevel.PRIVATE)
+@RequiredArgsConstructor
+public class BookingFeedController {
+    static final String USER_ID_HEADER = "X-Sharer-User-Id";
+
+    final BookingFeedService bookingFeedService;
+
+    @GetMapping
+    public Flux<ResponseBookingDto> getBookingsByBooker(
+        @RequestHeader(USER_ID_HEADER) long userId,
+        @RequestParam(required = false, defaultValue = "ALL") BookingState state) {
+        return bookingFeedService.getBookingsByBooker(userId, state);
+    }
+
+    @GetMapping("/owner")
+    public Flux<ResponseBookingDto> getBookingsByOwner(
+        @RequestHeader(USER_ID_HEADER) long userId,
+        @RequestParam(required = false, defaultValue = "ALL") BookingState state) {
+        return bookingFeedService.getBookingsByOwner(userId, state);
+    }
+}
@@ -0,0 +1,11 @@
+package ru.practicum.shareit.booking;
+
+import reactor.core.publisher.Flux;
+import ru.practicum.shareit.booking.dto.ResponseBookingDto;
+import ru.practicum.shareit.booking.model.BookingState;
+
+public interface BookingFeedService {
+    Flux<ResponseBookingDto> getBookingsByBooker(long userId, BookingState state);
+
+    Flux<ResponseBookingDto> getBookingsByOwner(long userId, BookingState state);
+}
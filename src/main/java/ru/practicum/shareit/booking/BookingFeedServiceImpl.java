@@ -0,0 +1,101 @@
+package ru.practicum.shareit.booking;
+
+import io.r2dbc.spi.Readable;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.booking.dto.ResponseBookingDto;
+import ru.practicum.shareit.booking.mappers.BookingMapper;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingState;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.exceptions.NotFoundException;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+
+@Service
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class BookingFeedServiceImpl implements BookingFeedService {
+    static final int FETCH_SIZE = 100;
+    static final String SELECT_BOOKINGS = "select b.id, b.start_date, b.end_date, b.status, " +
+        "i.id as item_id, i.name as item_name, i.description as item_description, " +
+        "i.is_available as item_available, i.request_id as item_request_id, " +
+        "u.id as booker_id, u.name as booker_name, u.email as booker_email " +
+        "from bookings b join items i on i.id = b.item_id join users u on u.id = b.booker_id ";
+
+    final DatabaseClient databaseClient;
+
+    @Override
+    public Flux<ResponseBookingDto> getBookingsByBooker(long userId, BookingState state) {
+        return findBookings("b.booker_id", userId, state);
+    }
+
+    @Override
+    public Flux<ResponseBookingDto> getBookingsByOwner(long userId, BookingState state) {
+        return databaseClient.sql("select id from users where id = :userId")
+            .bind("userId", userId)
+            .map(row -> true)
+            .first()
+            .switchIfEmpty(Mono.error(() -> new NotFoundException(String.format("User ID=%s does not exists",
+                userId))))
+            .thenMany(findBookings("i.owner_id", userId, state));
+    }
+
+    private Flux<ResponseBookingDto> findBookings(String userColumn, long userId, BookingState state) {
+        String condition = switch (state) {
+            case ALL -> "";
+            case CURRENT -> " and b.start_date <= :now and b.end_date > :now";
+            case PAST -> " and b.end_date < :now";
+            case FUTURE -> " and b.start_date > :now";
+            case WAITING, REJECTED -> " and b.status = :status";
+        };
+        DatabaseClient.GenericExecuteSpec spec = databaseClient
+            .sql(SELECT_BOOKINGS + "where " + userColumn + " = :userId" + condition + " order by b.start_date, b.id")
+            .filter(statement -> statement.fetchSize(FETCH_SIZE))
+            .bind("userId", userId);
+        spec = switch (state) {
+            case ALL -> spec;
+            case CURRENT, PAST, FUTURE -> spec.bind("now", LocalDateTime.now());
+            case WAITING, REJECTED -> spec.bind("status", state.name());
+        };
+        return spec.map(this::mapToResponseBookingDto).all();
+    }
+
+    private ResponseBookingDto mapToResponseBookingDto(Readable row) {
+        ItemRequest itemRequest = null;
+        Long requestId = row.get("item_request_id", Long.class);
+        if (requestId != null) {
+            itemRequest = new ItemRequest();
+            itemRequest.setId(requestId);
+        }
+
+        Item item = new Item();
+        item.setId(row.get("item_id", Long.class));
+        item.setName(row.get("item_name", String.class));
+        item.setDescription(row.get("item_description", String.class));
+        item.setAvailable(Boolean.TRUE.equals(row.get("item_available", Boolean.class)));
+        item.setRequest(itemRequest);
+
+        User booker = new User();
+        booker.setId(row.get("booker_id", Long.class));
+        booker.setName(row.get("booker_name", String.class));
+        booker.setEmail(row.get("booker_email", String.class));
+
+        Booking booking = new Booking();
+        booking.setId(row.get("id", Long.class));
+        booking.setStart(row.get("start_date", LocalDateTime.class));
+        booking.setEnd(row.get("end_date", LocalDateTime.class));
+        booking.setStatus(BookingStatus.valueOf(row.get("status", String.class)));
+        booking.setItem(item);
+        booking.setBooker(booker);
+        return BookingMapper.mapToResponseBookingDto(booking);
+    }
+}
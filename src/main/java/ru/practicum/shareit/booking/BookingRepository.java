@@ -1,33 +1,145 @@
 package ru.practicum.shareit.booking;
 
-import org.springframework.data.domain.Sort;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import ru.practicum.shareit.booking.calendar.BookingSlot;
+import ru.practicum.shareit.booking.dto.BookingInterval;
+import ru.practicum.shareit.booking.dto.BookingVersion;
+import ru.practicum.shareit.booking.dto.ItemBookingDates;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.pagination.WindowVersion;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface BookingRepository extends JpaRepository<Booking, Long> {
-    List<Booking> findAllByBookerId(Long bookerId, Sort sort);
+    String EXPORT_FETCH_SIZE = "500";
+    String WINDOW_ROWS = "select b.id as id, b.version + i.version + u.version as version, " +
+        "row_number() over (order by b.start_date, b.id) as rn " +
+        "from bookings b join items i on i.id = b.item_id join users u on u.id = b.booker_id ";
+    String WINDOW_FILTER = "and (:afterId = 0 or (b.start_date, b.id) > (:afterStart, :afterId)) " +
+        "and (:state = 'ALL' " +
+        "or :state = 'CURRENT' and b.start_date <= :now and b.end_date > :now " +
+        "or :state = 'PAST' and b.end_date < :now " +
+        "or :state = 'FUTURE' and b.start_date > :now " +
+        "or :state = 'WAITING' and b.status = 'WAITING' " +
+        "or :state = 'REJECTED' and b.status = 'REJECTED') " +
+        "order by b.start_date, b.id limit :size + 1) w";
 
-    List<Booking> findAllByBookerIdAndEndIsBefore(Long bookerId, LocalDateTime end, Sort sort);
+    @Query("select u.id as bookerId, i.owner.id as ownerId, b.version as version, i.version as itemVersion, " +
+        "u.version as bookerVersion from Booking b join b.item i join b.booker u where b.id = :id")
+    Optional<BookingVersion> findVersionById(@Param("id") Long id);
 
-    List<Booking> findAllByBookerIdAndStartIsAfter(Long bookerId, LocalDateTime start, Sort sort);
+    @Query(value = WindowVersion.AGGREGATE + "from (" + WINDOW_ROWS + "where b.booker_id = :userId " +
+        WINDOW_FILTER, nativeQuery = true)
+    WindowVersion findWindowVersionByBookerId(@Param("userId") long bookerId, @Param("state") String state,
+                                              @Param("now") LocalDateTime now,
+                                              @Param("afterStart") LocalDateTime afterStart,
+                                              @Param("afterId") long afterId, @Param("size") int size);
 
-    List<Booking> findAllByBookerIdAndStatus(Long bookerId, BookingStatus status, Sort sort);
+    @Query(value = WindowVersion.AGGREGATE + "from (" + WINDOW_ROWS + "where i.owner_id = :userId " +
+        WINDOW_FILTER, nativeQuery = true)
+    WindowVersion findWindowVersionByItemOwnerId(@Param("userId") long ownerId, @Param("state") String state,
+                                                 @Param("now") LocalDateTime now,
+                                                 @Param("afterStart") LocalDateTime afterStart,
+                                                 @Param("afterId") long afterId, @Param("size") int size);
 
-    List<Booking> findAllByItemOwnerId(Long ownerId);
+    @EntityGraph(attributePaths = {"item", "booker"})
+    Window<Booking> findByBookerIdOrderByStartAscIdAsc(Long bookerId, ScrollPosition position, Limit limit);
 
-    List<Booking> findAllByItemId(Long itemId);
+    @EntityGraph(attributePaths = {"item", "booker"})
+    Window<Booking> findByBookerIdAndStartLessThanEqualAndEndAfterOrderByStartAscIdAsc(
+        Long bookerId, LocalDateTime start, LocalDateTime end, ScrollPosition position, Limit limit);
 
-    List<Booking> findAllByItemOwnerId(Long ownerId, Sort sort);
+    @EntityGraph(attributePaths = {"item", "booker"})
+    Window<Booking> findByBookerIdAndEndBeforeOrderByStartAscIdAsc(Long bookerId, LocalDateTime end,
+                                                                    ScrollPosition position, Limit limit);
 
-    List<Booking> findAllByItemOwnerAndEndIsBefore(Long ownerId, LocalDateTime end, Sort sort);
+    @EntityGraph(attributePaths = {"item", "booker"})
+    Window<Booking> findByBookerIdAndStartAfterOrderByStartAscIdAsc(Long bookerId, LocalDateTime start,
+                                                                     ScrollPosition position, Limit limit);
 
-    List<Booking> findAllByItemOwnerAndStartIsAfter(Long ownerId, LocalDateTime start, Sort sort);
+    @EntityGraph(attributePaths = {"item", "booker"})
+    Window<Booking> findByBookerIdAndStatusOrderByStartAscIdAsc(Long bookerId, BookingStatus status,
+                                                                 ScrollPosition position, Limit limit);
 
-    List<Booking> findAllByItemOwnerAndStatus(Long ownerId, BookingStatus status, Sort sort);
+    @EntityGraph(attributePaths = {"item", "booker"})
+    Window<Booking> findByItemOwnerIdOrderByStartAscIdAsc(Long ownerId, ScrollPosition position, Limit limit);
+
+    @EntityGraph(attributePaths = {"item", "booker"})
+    Window<Booking> findByItemOwnerIdAndStartLessThanEqualAndEndAfterOrderByStartAscIdAsc(
+        Long ownerId, LocalDateTime start, LocalDateTime end, ScrollPosition position, Limit limit);
+
+    @EntityGraph(attributePaths = {"item", "booker"})
+    Window<Booking> findByItemOwnerIdAndEndBeforeOrderByStartAscIdAsc(Long ownerId, LocalDateTime end,
+                                                                       ScrollPosition position, Limit limit);
+
+    @EntityGraph(attributePaths = {"item", "booker"})
+    Window<Booking> findByItemOwnerIdAndStartAfterOrderByStartAscIdAsc(Long ownerId, LocalDateTime start,
+                                                                        ScrollPosition position, Limit limit);
+
+    @EntityGraph(attributePaths = {"item", "booker"})
+    Window<Booking> findByItemOwnerIdAndStatusOrderByStartAscIdAsc(Long ownerId, BookingStatus status,
+                                                                    ScrollPosition position, Limit limit);
+
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select b from Booking b join fetch b.item join fetch b.booker " +
+        "where b.booker.id = :bookerId order by b.start, b.id")
+    Stream<Booking> streamAllByBookerId(@Param("bookerId") Long bookerId);
+
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select b from Booking b join fetch b.item i join fetch b.booker " +
+        "where i.owner.id = :ownerId order by b.start, b.id")
+    Stream<Booking> streamAllByItemOwnerId(@Param("ownerId") Long ownerId);
+
+    @Query("select b.item.id as itemId, " +
+        "max(case when b.start <= :now then b.start end) as lastBooking, " +
+        "min(case when b.start > :now then b.start end) as nextBooking " +
+        "from Booking b where b.item.id in :itemIds and b.status = :status group by b.item.id")
+    List<ItemBookingDates> findBookingDatesByItemIds(@Param("itemIds") Collection<Long> itemIds,
+                                                     @Param("status") BookingStatus status,
+                                                     @Param("now") LocalDateTime now);
+
+    default List<ItemBookingDates> findApprovedBookingDatesByItemIds(Collection<Long> itemIds, LocalDateTime now) {
+        return findBookingDatesByItemIds(itemIds, BookingStatus.APPROVED, now);
+    }
+
+    default Optional<ItemBookingDates> findApprovedBookingDatesByItemId(Long itemId, LocalDateTime now) {
+        return findApprovedBookingDatesByItemIds(List.of(itemId), now).stream().findFirst();
+    }
+
+    @Query("select new ru.practicum.shareit.booking.calendar.BookingSlot(b.id, b.start, b.end) from Booking b " +
+        "where b.item.id = :itemId and b.status in :statuses order by b.start")
+    List<BookingSlot> findSlotsByItemId(@Param("itemId") Long itemId,
+                                        @Param("statuses") Collection<BookingStatus> statuses);
+
+    @Query("select b.item.id as itemId, b.start as start, b.end as end from Booking b " +
+        "where b.item.id in :itemIds and b.status in :statuses and b.start < :to and b.end > :from")
+    List<BookingInterval> findIntervalsByItemIds(@Param("itemIds") Collection<Long> itemIds,
+                                                 @Param("statuses") Collection<BookingStatus> statuses,
+                                                 @Param("from") LocalDateTime from,
+                                                 @Param("to") LocalDateTime to);
+
+    boolean existsByItemIdAndStatusInAndStartBeforeAndEndAfter(Long itemId, Collection<BookingStatus> statuses,
+                                                               LocalDateTime end, LocalDateTime start);
 
     Boolean existsByBookerIdAndItemIdAndEndBefore(Long ownerId, Long itemId, LocalDateTime end);
 }
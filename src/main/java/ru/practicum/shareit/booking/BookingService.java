@@ -1,19 +1,35 @@
 package ru.practicum.shareit.booking;
 
+import ru.practicum.shareit.booking.dto.BatchBookingDto;
+import ru.practicum.shareit.booking.dto.BatchBookingResultDto;
 import ru.practicum.shareit.booking.dto.RequestBookingDto;
 import ru.practicum.shareit.booking.dto.ResponseBookingDto;
 import ru.practicum.shareit.booking.model.BookingState;
+import ru.practicum.shareit.pagination.CursorPage;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface BookingService {
     ResponseBookingDto createBooking(long userId, RequestBookingDto requestBookingDto);
 
+    List<BatchBookingResultDto> createBookings(long userId, BatchBookingDto batchBookingDto);
+
     ResponseBookingDto reviewBooking(long userId, long bookingId, boolean approved);
 
     ResponseBookingDto getBookingById(long userId, long bookingId);
 
-    List<ResponseBookingDto> getBookingsByBooker(long userId, BookingState state);
+    String getBookingTag(long userId, long bookingId);
+
+    CursorPage<ResponseBookingDto> getBookingsByBooker(long userId, BookingState state, String cursor, int size);
+
+    CursorPage<ResponseBookingDto> getBookingByOwner(long userId, BookingState state, String cursor, int size);
+
+    String getBookingsByBookerTag(long userId, BookingState state, String cursor, int size);
+
+    String getBookingsByOwnerTag(long userId, BookingState state, String cursor, int size);
+
+    void exportBookingsByBooker(long userId, Consumer<ResponseBookingDto> consumer);
 
-    List<ResponseBookingDto> getBookingByOwner(long userId, BookingState state);
+    void exportBookingsByOwner(long userId, Consumer<ResponseBookingDto> consumer);
 }
@@ -1,59 +1,157 @@
 package ru.practicum.shareit.booking;
 
+import jakarta.persistence.EntityManager;
 import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
 import lombok.experimental.FieldDefaults;
-import org.springframework.data.domain.Sort;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.dto.BatchBookingDto;
+import ru.practicum.shareit.booking.dto.BatchBookingResultDto;
+import ru.practicum.shareit.booking.dto.BookingInterval;
+import ru.practicum.shareit.booking.dto.BookingVersion;
 import ru.practicum.shareit.booking.dto.RequestBookingDto;
 import ru.practicum.shareit.booking.dto.ResponseBookingDto;
+import ru.practicum.shareit.booking.event.BookingChangedEvent;
 import ru.practicum.shareit.booking.mappers.BookingMapper;
+import ru.practicum.shareit.booking.model.BatchMode;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.BookingState;
 import ru.practicum.shareit.booking.model.BookingStatus;
 import ru.practicum.shareit.exceptions.NotAvailableException;
 import ru.practicum.shareit.exceptions.NotFoundException;
 import ru.practicum.shareit.exceptions.PermissionException;
+import ru.practicum.shareit.exceptions.ValidationException;
 import ru.practicum.shareit.item.ItemRepository;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.pagination.CursorPage;
+import ru.practicum.shareit.pagination.KeysetCursor;
+import ru.practicum.shareit.pagination.WindowVersion;
+import ru.practicum.shareit.user.UserCache;
 import ru.practicum.shareit.user.UserRepository;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.mappers.UserMapper;
 import ru.practicum.shareit.user.model.User;
 
 import java.time.LocalDateTime;
-import java.util.List;
+import java.util.*;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static ru.practicum.shareit.booking.model.BookingStatus.*;
 
 @Service
 @RequiredArgsConstructor
+@Transactional(readOnly = true)
 @FieldDefaults(level = AccessLevel.PRIVATE)
 public class BookingServiceImpl implements BookingService {
+    static final List<String> CURSOR_KEYS = List.of("start", "id");
+    static final int EXPORT_CLEAR_INTERVAL = 500;
+
     final BookingRepository bookingRepository;
     final UserRepository userRepository;
+    final UserCache userCache;
     final ItemRepository itemRepository;
+    final EntityManager entityManager;
+    final ApplicationEventPublisher eventPublisher;
 
     @Override
+    @Transactional
     public ResponseBookingDto createBooking(long userId, RequestBookingDto requestBookingDto) {
-        User user = userRepository.findById(userId)
+        UserDto booker = userCache.findById(userId)
+            .map(UserMapper::mapToUserDto)
             .orElseThrow(() -> new NotFoundException(String.format("User ID=%s not found", userId)));
 
         long itemId = requestBookingDto.getItemId();
-        Item item = itemRepository.findById(itemId)
+        Item item = itemRepository.findForUpdateById(itemId)
             .orElseThrow(() -> new NotFoundException(String.format("Item ID=%s not found", itemId)));
 
         if (!item.isAvailable()) {
             throw new NotAvailableException(String.format("Item ID=%s not available", item.getId()));
         }
+        if (bookingRepository.existsByItemIdAndStatusInAndStartBeforeAndEndAfter(itemId, BookingStatus.ACTIVE,
+            requestBookingDto.getEnd(), requestBookingDto.getStart())) {
+            throw new NotAvailableException(String.format("Item ID=%s already booked from %s to %s", itemId,
+                requestBookingDto.getStart(), requestBookingDto.getEnd()));
+        }
 
         Booking booking = BookingMapper.mapToBooking(requestBookingDto);
-        booking.setBooker(user);
+        booking.setBooker(userRepository.getReferenceById(userId));
         booking.setItem(item);
         booking.setStatus(WAITING);
 
-        return BookingMapper.mapToResponseBookingDto(bookingRepository.save(booking));
+        ResponseBookingDto responseBookingDto = BookingMapper.mapToResponseBookingDto(bookingRepository.save(booking),
+            booker);
+        eventPublisher.publishEvent(new BookingChangedEvent(responseBookingDto, item.getOwner().getId()));
+        return responseBookingDto;
     }
 
     @Override
+    @Transactional
+    public List<BatchBookingResultDto> createBookings(long userId, BatchBookingDto batchBookingDto) {
+        UserDto booker = userCache.findById(userId)
+            .map(UserMapper::mapToUserDto)
+            .orElseThrow(() -> new NotFoundException(String.format("User ID=%s not found", userId)));
+        User user = userRepository.getReferenceById(userId);
+
+        List<RequestBookingDto> requests = batchBookingDto.getBookings();
+        Set<Long> itemIds = requests.stream()
+            .map(RequestBookingDto::getItemId)
+            .filter(Objects::nonNull)
+            .collect(Collectors.toSet());
+        Map<Long, Item> items = itemRepository.findAllForUpdateByIdInOrderByIdAsc(itemIds).stream()
+            .collect(Collectors.toMap(Item::getId, Function.identity()));
+        Map<Long, List<BookingInterval>> reserved = findReservedIntervals(items.keySet(), requests);
+        Map<Long, List<RequestBookingDto>> accepted = new HashMap<>();
+
+        List<RuntimeException> errors = new ArrayList<>(requests.size());
+        for (int index = 0; index < requests.size(); index++) {
+            RequestBookingDto request = requests.get(index);
+            RuntimeException error = checkBatchEntry(index, request, items, reserved, accepted);
+            if (error != null && batchBookingDto.getMode() == BatchMode.ATOMIC) {
+                throw error;
+            }
+            if (error == null) {
+                accepted.computeIfAbsent(request.getItemId(), itemId -> new ArrayList<>()).add(request);
+            }
+            errors.add(error);
+        }
+
+        List<Booking> bookings = new ArrayList<>();
+        for (int index = 0; index < requests.size(); index++) {
+            if (errors.get(index) == null) {
+                Booking booking = BookingMapper.mapToBooking(requests.get(index));
+                booking.setBooker(user);
+                booking.setItem(items.get(requests.get(index).getItemId()));
+                booking.setStatus(WAITING);
+                bookings.add(booking);
+            }
+        }
+        Iterator<Booking> saved = bookingRepository.saveAll(bookings).iterator();
+
+        List<BatchBookingResultDto> results = new ArrayList<>(requests.size());
+        for (int index = 0; index < requests.size(); index++) {
+            if (errors.get(index) == null) {
+                Booking booking = saved.next();
+                ResponseBookingDto responseBookingDto = BookingMapper.mapToResponseBookingDto(booking, booker);
+                eventPublisher.publishEvent(new BookingChangedEvent(responseBookingDto,
+                    booking.getItem().getOwner().getId()));
+                results.add(BookingMapper.mapToBatchBookingResultDto(index, responseBookingDto));
+            } else {
+                results.add(BookingMapper.mapToBatchBookingResultDto(index, errors.get(index).getMessage()));
+            }
+        }
+        return results;
+    }
+
+    @Override
+    @Transactional
     public ResponseBookingDto reviewBooking(long userId, long bookingId, boolean approved) {
         Booking booking = bookingRepository.findById(bookingId)
             .orElseThrow(() -> new NotFoundException(String.format("Booking ID=%s not found", bookingId)));
@@ -68,7 +166,9 @@ public class BookingServiceImpl implements BookingService {
             booking.setStatus(BookingStatus.REJECTED);
         }
 
-        return BookingMapper.mapToResponseBookingDto(booking);
+        ResponseBookingDto responseBookingDto = BookingMapper.mapToResponseBookingDto(booking);
+        eventPublisher.publishEvent(new BookingChangedEvent(responseBookingDto, userId));
+        return responseBookingDto;
     }
 
     @Override
@@ -84,40 +184,180 @@ public class BookingServiceImpl implements BookingService {
     }
 
     @Override
-    public List<ResponseBookingDto> getBookingsByBooker(long userId, BookingState state) {
-        final Sort sort = Sort.by(Sort.Direction.ASC, "start");
+    public String getBookingTag(long userId, long bookingId) {
+        BookingVersion bookingVersion = bookingRepository.findVersionById(bookingId)
+            .orElseThrow(() -> new NotFoundException(String.format("Booking ID=%s not found", bookingId)));
+
+        if (!bookingVersion.getOwnerId().equals(userId) && !bookingVersion.getBookerId().equals(userId)) {
+            throw new PermissionException("Access denied");
+        }
+
+        return String.format("%d-%d-%d-%d", bookingId, bookingVersion.getVersion(), bookingVersion.getItemVersion(),
+            bookingVersion.getBookerVersion());
+    }
+
+    @Override
+    public CursorPage<ResponseBookingDto> getBookingsByBooker(long userId, BookingState state, String cursor,
+                                                              int size) {
+        final Limit limit = KeysetCursor.limit(size);
+        final ScrollPosition position = KeysetCursor.decode(cursor, CURSOR_KEYS);
         final LocalDateTime now = LocalDateTime.now();
 
-        List<Booking> bookings = switch (state) {
-            case ALL -> bookingRepository.findAllByBookerId(userId, sort);
-            case PAST -> bookingRepository.findAllByBookerIdAndEndIsBefore(userId, now, sort);
-            case FUTURE -> bookingRepository.findAllByBookerIdAndStartIsAfter(userId, now, sort);
-            case WAITING -> bookingRepository.findAllByBookerIdAndStatus(userId, WAITING, sort);
-            case CURRENT -> bookingRepository.findAllByBookerIdAndStatus(userId, APPROVED, sort);
-            case REJECTED -> bookingRepository.findAllByBookerIdAndStatus(userId, REJECTED, sort);
+        Window<Booking> bookings = switch (state) {
+            case ALL -> bookingRepository.findByBookerIdOrderByStartAscIdAsc(userId, position, limit);
+            case PAST -> bookingRepository.findByBookerIdAndEndBeforeOrderByStartAscIdAsc(userId, now, position,
+                limit);
+            case FUTURE -> bookingRepository.findByBookerIdAndStartAfterOrderByStartAscIdAsc(userId, now, position,
+                limit);
+            case WAITING -> bookingRepository.findByBookerIdAndStatusOrderByStartAscIdAsc(userId, WAITING, position,
+                limit);
+            case CURRENT -> bookingRepository.findByBookerIdAndStartLessThanEqualAndEndAfterOrderByStartAscIdAsc(
+                userId, now, now, position, limit);
+            case REJECTED -> bookingRepository.findByBookerIdAndStatusOrderByStartAscIdAsc(userId, REJECTED, position,
+                limit);
         };
 
-        return bookings.stream().map(BookingMapper::mapToResponseBookingDto).toList();
+        return KeysetCursor.toPage(bookings, BookingMapper::mapToResponseBookingDto);
     }
 
     @Override
-    public List<ResponseBookingDto> getBookingByOwner(long userId, BookingState state) {
-        if (!userRepository.existsById(userId)) {
+    public CursorPage<ResponseBookingDto> getBookingByOwner(long userId, BookingState state, String cursor,
+                                                            int size) {
+        if (userCache.findById(userId).isEmpty()) {
             throw new NotFoundException(String.format("User ID=%s does not exists", userId));
         }
 
-        final Sort sort = Sort.by(Sort.Direction.ASC, "start");
+        final Limit limit = KeysetCursor.limit(size);
+        final ScrollPosition position = KeysetCursor.decode(cursor, CURSOR_KEYS);
         final LocalDateTime now = LocalDateTime.now();
 
-        List<Booking> bookings = switch (state) {
-            case ALL -> bookingRepository.findAllByItemOwnerId(userId, sort);
-            case PAST -> bookingRepository.findAllByItemOwnerAndEndIsBefore(userId, now, sort);
-            case FUTURE -> bookingRepository.findAllByItemOwnerAndStartIsAfter(userId, now, sort);
-            case WAITING -> bookingRepository.findAllByItemOwnerAndStatus(userId, WAITING, sort);
-            case CURRENT -> bookingRepository.findAllByItemOwnerAndStatus(userId, APPROVED, sort);
-            case REJECTED -> bookingRepository.findAllByItemOwnerAndStatus(userId, REJECTED, sort);
+        Window<Booking> bookings = switch (state) {
+            case ALL -> bookingRepository.findByItemOwnerIdOrderByStartAscIdAsc(userId, position, limit);
+            case PAST -> bookingRepository.findByItemOwnerIdAndEndBeforeOrderByStartAscIdAsc(userId, now, position,
+                limit);
+            case FUTURE -> bookingRepository.findByItemOwnerIdAndStartAfterOrderByStartAscIdAsc(userId, now,
+                position, limit);
+            case WAITING -> bookingRepository.findByItemOwnerIdAndStatusOrderByStartAscIdAsc(userId, WAITING,
+                position, limit);
+            case CURRENT -> bookingRepository.findByItemOwnerIdAndStartLessThanEqualAndEndAfterOrderByStartAscIdAsc(
+                userId, now, now, position, limit);
+            case REJECTED -> bookingRepository.findByItemOwnerIdAndStatusOrderByStartAscIdAsc(userId, REJECTED,
+                position, limit);
         };
 
-        return bookings.stream().map(BookingMapper::mapToResponseBookingDto).toList();
+        return KeysetCursor.toPage(bookings, BookingMapper::mapToResponseBookingDto);
+    }
+
+    @Override
+    public String getBookingsByBookerTag(long userId, BookingState state, String cursor, int size) {
+        final ScrollPosition position = KeysetCursor.decode(cursor, CURSOR_KEYS);
+        final int limit = KeysetCursor.limit(size).max();
+        final LocalDateTime now = LocalDateTime.now();
+        final Object afterStart = KeysetCursor.key(position, "start");
+        final Object afterId = KeysetCursor.key(position, "id");
+
+        WindowVersion version = bookingRepository.findWindowVersionByBookerId(userId, state.name(), now,
+            afterStart == null ? now : (LocalDateTime) afterStart, afterId == null ? 0 : (Long) afterId, limit);
+        return KeysetCursor.tag(position, version);
+    }
+
+    @Override
+    public String getBookingsByOwnerTag(long userId, BookingState state, String cursor, int size) {
+        if (userCache.findById(userId).isEmpty()) {
+            throw new NotFoundException(String.format("User ID=%s does not exists", userId));
+        }
+
+        final ScrollPosition position = KeysetCursor.decode(cursor, CURSOR_KEYS);
+        final int limit = KeysetCursor.limit(size).max();
+        final LocalDateTime now = LocalDateTime.now();
+        final Object afterStart = KeysetCursor.key(position, "start");
+        final Object afterId = KeysetCursor.key(position, "id");
+
+        WindowVersion version = bookingRepository.findWindowVersionByItemOwnerId(userId, state.name(), now,
+            afterStart == null ? now : (LocalDateTime) afterStart, afterId == null ? 0 : (Long) afterId, limit);
+        return KeysetCursor.tag(position, version);
+    }
+
+    @Override
+    public void exportBookingsByBooker(long userId, Consumer<ResponseBookingDto> consumer) {
+        if (userCache.findById(userId).isEmpty()) {
+            throw new NotFoundException(String.format("User ID=%s does not exists", userId));
+        }
+
+        try (Stream<Booking> bookings = bookingRepository.streamAllByBookerId(userId)) {
+            export(bookings, consumer);
+        }
+    }
+
+    @Override
+    public void exportBookingsByOwner(long userId, Consumer<ResponseBookingDto> consumer) {
+        if (userCache.findById(userId).isEmpty()) {
+            throw new NotFoundException(String.format("User ID=%s does not exists", userId));
+        }
+
+        try (Stream<Booking> bookings = bookingRepository.streamAllByItemOwnerId(userId)) {
+            export(bookings, consumer);
+        }
+    }
+
+    private Map<Long, List<BookingInterval>> findReservedIntervals(Collection<Long> itemIds,
+                                                                   List<RequestBookingDto> requests) {
+        LocalDateTime from = requests.stream()
+            .map(RequestBookingDto::getStart)
+            .filter(Objects::nonNull)
+            .min(Comparator.naturalOrder())
+            .orElse(null);
+        LocalDateTime to = requests.stream()
+            .map(RequestBookingDto::getEnd)
+            .filter(Objects::nonNull)
+            .max(Comparator.naturalOrder())
+            .orElse(null);
+        if (itemIds.isEmpty() || from == null || to == null) {
+            return Map.of();
+        }
+
+        return bookingRepository.findIntervalsByItemIds(itemIds, BookingStatus.ACTIVE, from, to).stream()
+            .collect(Collectors.groupingBy(BookingInterval::getItemId));
+    }
+
+    private RuntimeException checkBatchEntry(int index, RequestBookingDto request, Map<Long, Item> items,
+                                             Map<Long, List<BookingInterval>> reserved,
+                                             Map<Long, List<RequestBookingDto>> accepted) {
+        LocalDateTime start = request.getStart();
+        LocalDateTime end = request.getEnd();
+        if (start == null || end == null || !start.isBefore(end)) {
+            return new ValidationException(String.format("Booking #%s: start time must be before end time", index));
+        }
+
+        Item item = items.get(request.getItemId());
+        if (item == null) {
+            return new NotFoundException(String.format("Booking #%s: item ID=%s not found", index,
+                request.getItemId()));
+        }
+        if (!item.isAvailable()) {
+            return new NotAvailableException(String.format("Booking #%s: item ID=%s not available", index,
+                item.getId()));
+        }
+
+        boolean overlaps = reserved.getOrDefault(item.getId(), List.of()).stream()
+            .anyMatch(interval -> interval.getStart().isBefore(end) && interval.getEnd().isAfter(start))
+            || accepted.getOrDefault(item.getId(), List.of()).stream()
+            .anyMatch(other -> other.getStart().isBefore(end) && other.getEnd().isAfter(start));
+        if (overlaps) {
+            return new NotAvailableException(String.format("Booking #%s: item ID=%s already booked from %s to %s",
+                index, item.getId(), start, end));
+        }
+        return null;
+    }
+
+    private void export(Stream<Booking> bookings, Consumer<ResponseBookingDto> consumer) {
+        Iterator<Booking> iterator = bookings.iterator();
+        int exported = 0;
+        while (iterator.hasNext()) {
+            consumer.accept(BookingMapper.mapToResponseBookingDto(iterator.next()));
+            if (++exported % EXPORT_CLEAR_INTERVAL == 0) {
+                entityManager.clear();
+            }
+        }
     }
 }
@@ -0,0 +1,103 @@
+package ru.practicum.shareit.booking.calendar;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.dto.ResponseBookingDto;
+import ru.practicum.shareit.booking.event.BookingChangedEvent;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.item.event.ItemDeletedEvent;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Per-item booking calendars backing {@code GET /items/{id}/availability}.
+ *
+ * <p>The calendars are a display cache only: they can lag behind bookings made on other nodes for up to
+ * {@link #EXPIRE_AFTER_LOAD}, so booking creation never consults them and relies on the locked database
+ * check instead. The expiry counts from the database load: patching a calendar from {@link BookingChangedEvent}
+ * does not extend it, so changes made outside those events are picked up by the next reload even on a busy item.
+ * Callers must check that the item exists before asking for its calendar.
+ */
+@Component
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class BookingCalendar {
+    static final int MAXIMUM_ITEMS = 10_000;
+    static final Duration EXPIRE_AFTER_LOAD = Duration.ofMinutes(1);
+
+    final BookingRepository bookingRepository;
+    final TransactionTemplate primaryTransaction;
+
+    final Cache<Long, ItemCalendar> calendars = Caffeine.newBuilder()
+        .maximumSize(MAXIMUM_ITEMS)
+        .expireAfter(new ExpireAfterLoad())
+        .build();
+
+    public BookingCalendar(BookingRepository bookingRepository, PlatformTransactionManager transactionManager) {
+        this.bookingRepository = bookingRepository;
+        // a read-write transaction of its own routes the load to the primary, never to a lagging replica
+        this.primaryTransaction = new TransactionTemplate(transactionManager);
+        this.primaryTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    public List<BookingSlot> getBusySlots(long itemId, LocalDateTime from, LocalDateTime to) {
+        return calendars.get(itemId, this::load).busySlots(from, to);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookingChanged(BookingChangedEvent event) {
+        ResponseBookingDto booking = event.getBooking();
+        // runs under the same entry lock as a concurrent load, so a load that missed the commit is patched here
+        calendars.asMap().computeIfPresent(booking.getItem().getId(), (itemId, calendar) -> {
+            if (BookingStatus.ACTIVE.contains(booking.getStatus())) {
+                calendar.put(booking.getId(), booking.getStart(), booking.getEnd());
+            } else {
+                calendar.remove(booking.getId());
+            }
+            return calendar;
+        });
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onItemDeleted(ItemDeletedEvent event) {
+        calendars.invalidate(event.getItemId());
+    }
+
+    Optional<Duration> getExpiresAfter(long itemId) {
+        return calendars.policy().expireVariably().flatMap(expiry -> expiry.getExpiresAfter(itemId));
+    }
+
+    private ItemCalendar load(long itemId) {
+        return ItemCalendar.of(Objects.requireNonNull(primaryTransaction.execute(status ->
+            bookingRepository.findSlotsByItemId(itemId, BookingStatus.ACTIVE))));
+    }
+
+    private static final class ExpireAfterLoad implements Expiry<Long, ItemCalendar> {
+        @Override
+        public long expireAfterCreate(Long itemId, ItemCalendar calendar, long currentTime) {
+            return EXPIRE_AFTER_LOAD.toNanos();
+        }
+
+        @Override
+        public long expireAfterUpdate(Long itemId, ItemCalendar calendar, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+
+        @Override
+        public long expireAfterRead(Long itemId, ItemCalendar calendar, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
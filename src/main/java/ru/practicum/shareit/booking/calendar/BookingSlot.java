@@ -0,0 +1,12 @@
+package ru.practicum.shareit.booking.calendar;
+
+import lombok.Value;
+
+import java.time.LocalDateTime;
+
+@Value
+public class BookingSlot {
+    long bookingId;
+    LocalDateTime start;
+    LocalDateTime end;
+}
@@ -0,0 +1,224 @@
+package ru.practicum.shareit.booking.calendar;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Bookings of one item in an augmented interval tree: an AVL tree ordered by start, where every node also keeps
+ * the latest end within its subtree. A lookup skips every subtree that ends before the window and everything
+ * right of a node that starts after it, so each reported booking costs O(log n) however long the other
+ * bookings are.
+ */
+class ItemCalendar {
+    static final LocalDateTime EPOCH = LocalDateTime.of(1970, 1, 1, 0, 0);
+    static final Comparator<BookingSlot> BY_START = Comparator.comparing(BookingSlot::getStart)
+        .thenComparingLong(BookingSlot::getBookingId);
+
+    final Map<Long, Node> nodes = new HashMap<>();
+    Node root;
+    int visitedNodes;
+
+    static ItemCalendar of(List<BookingSlot> slots) {
+        ItemCalendar calendar = new ItemCalendar();
+        List<BookingSlot> sorted = new ArrayList<>(slots);
+        sorted.sort(BY_START);
+        calendar.root = calendar.build(sorted, 0, sorted.size());
+        return calendar;
+    }
+
+    synchronized void put(long bookingId, LocalDateTime start, LocalDateTime end) {
+        removeInternal(bookingId);
+        Node node = new Node(bookingId, toMicros(start), toMicros(end));
+        nodes.put(bookingId, node);
+        root = insert(root, node);
+    }
+
+    synchronized void remove(long bookingId) {
+        removeInternal(bookingId);
+    }
+
+    synchronized int size() {
+        return nodes.size();
+    }
+
+    synchronized int height() {
+        return height(root);
+    }
+
+    synchronized List<BookingSlot> busySlots(LocalDateTime from, LocalDateTime to) {
+        List<BookingSlot> slots = new ArrayList<>();
+        visitedNodes = 0;
+        collect(root, toMicros(from), toMicros(to), slots);
+        return slots;
+    }
+
+    private void collect(Node node, long fromMicros, long toMicros, List<BookingSlot> slots) {
+        if (node == null || node.maxEnd <= fromMicros) {
+            return;
+        }
+        visitedNodes++;
+        collect(node.left, fromMicros, toMicros, slots);
+        if (node.start >= toMicros) {
+            return;
+        }
+        if (node.end > fromMicros) {
+            slots.add(new BookingSlot(node.bookingId, fromMicros(node.start), fromMicros(node.end)));
+        }
+        collect(node.right, fromMicros, toMicros, slots);
+    }
+
+    private Node build(List<BookingSlot> sorted, int from, int to) {
+        if (from >= to) {
+            return null;
+        }
+        int middle = (from + to) >>> 1;
+        BookingSlot slot = sorted.get(middle);
+        Node node = new Node(slot.getBookingId(), toMicros(slot.getStart()), toMicros(slot.getEnd()));
+        nodes.put(node.bookingId, node);
+        node.left = build(sorted, from, middle);
+        node.right = build(sorted, middle + 1, to);
+        update(node);
+        return node;
+    }
+
+    private void removeInternal(long bookingId) {
+        Node node = nodes.remove(bookingId);
+        if (node != null) {
+            root = delete(root, node);
+        }
+    }
+
+    private Node insert(Node node, Node inserted) {
+        if (node == null) {
+            return inserted;
+        }
+        if (compare(inserted, node) < 0) {
+            node.left = insert(node.left, inserted);
+        } else {
+            node.right = insert(node.right, inserted);
+        }
+        return rebalance(node);
+    }
+
+    private Node delete(Node node, Node deleted) {
+        if (node == null) {
+            return null;
+        }
+        int comparison = compare(deleted, node);
+        if (comparison < 0) {
+            node.left = delete(node.left, deleted);
+            return rebalance(node);
+        }
+        if (comparison > 0) {
+            node.right = delete(node.right, deleted);
+            return rebalance(node);
+        }
+        if (node.left == null) {
+            return node.right;
+        }
+        if (node.right == null) {
+            return node.left;
+        }
+        Node successor = node.right;
+        while (successor.left != null) {
+            successor = successor.left;
+        }
+        successor.right = deleteMin(node.right);
+        successor.left = node.left;
+        return rebalance(successor);
+    }
+
+    private Node deleteMin(Node node) {
+        if (node.left == null) {
+            return node.right;
+        }
+        node.left = deleteMin(node.left);
+        return rebalance(node);
+    }
+
+    private Node rebalance(Node node) {
+        update(node);
+        int balance = height(node.left) - height(node.right);
+        if (balance > 1) {
+            if (height(node.left.left) < height(node.left.right)) {
+                node.left = rotateLeft(node.left);
+            }
+            return rotateRight(node);
+        }
+        if (balance < -1) {
+            if (height(node.right.right) < height(node.right.left)) {
+                node.right = rotateRight(node.right);
+            }
+            return rotateLeft(node);
+        }
+        return node;
+    }
+
+    private Node rotateRight(Node node) {
+        Node left = node.left;
+        node.left = left.right;
+        left.right = node;
+        update(node);
+        update(left);
+        return left;
+    }
+
+    private Node rotateLeft(Node node) {
+        Node right = node.right;
+        node.right = right.left;
+        right.left = node;
+        update(node);
+        update(right);
+        return right;
+    }
+
+    private static void update(Node node) {
+        node.height = 1 + Math.max(height(node.left), height(node.right));
+        node.maxEnd = Math.max(node.end, Math.max(maxEnd(node.left), maxEnd(node.right)));
+    }
+
+    private static int height(Node node) {
+        return node == null ? 0 : node.height;
+    }
+
+    private static long maxEnd(Node node) {
+        return node == null ? Long.MIN_VALUE : node.maxEnd;
+    }
+
+    private static int compare(Node first, Node second) {
+        int comparison = Long.compare(first.start, second.start);
+        return comparison != 0 ? comparison : Long.compare(first.bookingId, second.bookingId);
+    }
+
+    static long toMicros(LocalDateTime time) {
+        return ChronoUnit.MICROS.between(EPOCH, time);
+    }
+
+    static LocalDateTime fromMicros(long micros) {
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(micros, 1_000_000L),
+            (int) Math.floorMod(micros, 1_000_000L) * 1_000, ZoneOffset.UTC);
+    }
+
+    static final class Node {
+        final long bookingId;
+        final long start;
+        final long end;
+        long maxEnd;
+        int height = 1;
+        Node left;
+        Node right;
+
+        Node(long bookingId, long start, long end) {
+            this.bookingId = bookingId;
+            this.start = start;
+            this.end = end;
+            this.maxEnd = end;
+        }
+    }
+}
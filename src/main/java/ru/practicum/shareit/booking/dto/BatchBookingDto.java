@@ -0,0 +1,25 @@
+package ru.practicum.shareit.booking.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AccessLevel;
+import lombok.Data;
+import lombok.experimental.FieldDefaults;
+import ru.practicum.shareit.booking.model.BatchMode;
+
+import java.util.List;
+
+@Data
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class BatchBookingDto {
+    public static final int MAX_BATCH_SIZE = 100;
+
+    @NotNull
+    BatchMode mode = BatchMode.ATOMIC;
+    @Valid
+    @NotEmpty
+    @Size(max = MAX_BATCH_SIZE)
+    List<RequestBookingDto> bookings;
+}
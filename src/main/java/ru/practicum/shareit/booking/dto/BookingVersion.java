@@ -0,0 +1,13 @@
+package ru.practicum.shareit.booking.dto;
+
+public interface BookingVersion {
+    Long getBookerId();
+
+    Long getOwnerId();
+
+    Long getVersion();
+
+    Long getItemVersion();
+
+    Long getBookerVersion();
+}
@@ -0,0 +1,10 @@
+package ru.practicum.shareit.booking.event;
+
+import lombok.Value;
+import ru.practicum.shareit.booking.dto.ResponseBookingDto;
+
+@Value
+public class BookingChangedEvent {
+    ResponseBookingDto booking;
+    long ownerId;
+}
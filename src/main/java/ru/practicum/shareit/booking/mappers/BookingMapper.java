@@ -1,10 +1,12 @@
 package ru.practicum.shareit.booking.mappers;
 
 import lombok.experimental.UtilityClass;
+import ru.practicum.shareit.booking.dto.BatchBookingResultDto;
 import ru.practicum.shareit.booking.dto.RequestBookingDto;
 import ru.practicum.shareit.booking.dto.ResponseBookingDto;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.item.mappers.ItemMapper;
+import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.mappers.UserMapper;
 
 @UtilityClass
@@ -17,13 +19,31 @@ public class BookingMapper {
     }
 
     public ResponseBookingDto mapToResponseBookingDto(Booking booking) {
+        return mapToResponseBookingDto(booking, UserMapper.mapToUserDto(booking.getBooker()));
+    }
+
+    public ResponseBookingDto mapToResponseBookingDto(Booking booking, UserDto booker) {
         ResponseBookingDto responseBookingDto = new ResponseBookingDto();
         responseBookingDto.setId(booking.getId());
         responseBookingDto.setStart(booking.getStart());
         responseBookingDto.setEnd(booking.getEnd());
         responseBookingDto.setItem(ItemMapper.mapToItemDto(booking.getItem()));
-        responseBookingDto.setBooker(UserMapper.mapToUserDto(booking.getBooker()));
+        responseBookingDto.setBooker(booker);
         responseBookingDto.setStatus(booking.getStatus());
         return responseBookingDto;
     }
+
+    public BatchBookingResultDto mapToBatchBookingResultDto(int index, ResponseBookingDto responseBookingDto) {
+        BatchBookingResultDto batchBookingResultDto = new BatchBookingResultDto();
+        batchBookingResultDto.setIndex(index);
+        batchBookingResultDto.setBooking(responseBookingDto);
+        return batchBookingResultDto;
+    }
+
+    public BatchBookingResultDto mapToBatchBookingResultDto(int index, String error) {
+        BatchBookingResultDto batchBookingResultDto = new BatchBookingResultDto();
+        batchBookingResultDto.setIndex(index);
+        batchBookingResultDto.setError(error);
+        return batchBookingResultDto;
+    }
 }
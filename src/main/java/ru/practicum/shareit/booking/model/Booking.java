@@ -17,7 +17,8 @@ import java.time.LocalDateTime;
 @FieldDefaults(level = AccessLevel.PRIVATE)
 public class Booking {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "bookings_seq")
+    @SequenceGenerator(name = "bookings_seq", sequenceName = "bookings_seq", allocationSize = 50)
     Long id;
     @Column(name = "start_date")
     LocalDateTime start;
@@ -32,4 +33,7 @@ public class Booking {
     @Column(name = "status")
     @Enumerated(EnumType.STRING)
     BookingStatus status;
+    @Version
+    @Column(name = "version")
+    long version;
 }
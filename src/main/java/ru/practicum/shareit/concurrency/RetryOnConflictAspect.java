@@ -0,0 +1,76 @@
+package ru.practicum.shareit.concurrency;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.exceptions.DuplicatedException;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+
+@Slf4j
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class RetryOnConflictAspect {
+    final int maxAttempts;
+    final long backoffMillis;
+    final Counter retryCounter;
+
+    public RetryOnConflictAspect(@Value("${shareit.retry.max-attempts:3}") int maxAttempts,
+                                 @Value("${shareit.retry.backoff:10ms}") Duration backoff,
+                                 MeterRegistry meterRegistry) {
+        this.maxAttempts = maxAttempts;
+        this.backoffMillis = backoff.toMillis();
+        this.retryCounter = Counter.builder("shareit.retry.conflicts")
+            .description("Service calls re-run after an optimistic locking conflict")
+            .register(meterRegistry);
+    }
+
+    @Around("@annotation(ru.practicum.shareit.concurrency.RetryOnConflict)")
+    public Object retry(ProceedingJoinPoint joinPoint) throws Throwable {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return joinPoint.proceed();
+            } catch (OptimisticLockingFailureException exception) {
+                if (attempt >= maxAttempts) {
+                    throw new DuplicatedException(conflictMessage(exception));
+                }
+                retryCounter.increment();
+                log.debug("Optimistic locking conflict in {}, attempt {} of {}",
+                    joinPoint.getSignature().toShortString(), attempt, maxAttempts);
+                backOff(attempt, exception);
+            }
+        }
+    }
+
+    private void backOff(int attempt, OptimisticLockingFailureException exception) {
+        try {
+            Thread.sleep(backoffMillis * attempt + ThreadLocalRandom.current().nextLong(backoffMillis + 1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new DuplicatedException(conflictMessage(exception));
+        }
+    }
+
+    private String conflictMessage(OptimisticLockingFailureException exception) {
+        if (exception instanceof ObjectOptimisticLockingFailureException objectException) {
+            String className = objectException.getPersistentClassName();
+            return String.format("%s ID=%s was modified concurrently",
+                className.substring(className.lastIndexOf('.') + 1), objectException.getIdentifier());
+        }
+        return "Resource was modified concurrently";
+    }
+}
@@ -0,0 +1,41 @@
+package ru.practicum.shareit.config;
+
+import io.r2dbc.spi.Closeable;
+import io.r2dbc.spi.ConnectionFactory;
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.r2dbc.ConnectionFactoryBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.publisher.Mono;
+
+@Configuration
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class R2dbcConfig implements DisposableBean {
+    // Not exposed as a bean: a ConnectionFactory bean makes Boot back off the JDBC DataSource used by JPA
+    final ConnectionFactory connectionFactory;
+
+    public R2dbcConfig(@Value("${shareit.r2dbc.url}") String url,
+                       @Value("${shareit.r2dbc.username}") String username,
+                       @Value("${shareit.r2dbc.password}") String password) {
+        this.connectionFactory = ConnectionFactoryBuilder.withUrl(url)
+            .username(username)
+            .password(password)
+            .build();
+    }
+
+    @Bean
+    public DatabaseClient databaseClient() {
+        return DatabaseClient.create(connectionFactory);
+    }
+
+    @Override
+    public void destroy() {
+        if (connectionFactory instanceof Closeable closeable) {
+            Mono.from(closeable.close()).block();
+        }
+    }
+}
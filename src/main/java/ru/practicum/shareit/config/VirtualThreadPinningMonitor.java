@@ -0,0 +1,76 @@
+package ru.practicum.shareit.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Component
+@ConditionalOnProperty(name = VirtualThreadPinningMonitor.ENABLED_PROPERTY, havingValue = "true")
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class VirtualThreadPinningMonitor implements SmartLifecycle {
+    static final String ENABLED_PROPERTY = "shareit.diagnostics.pinning.enabled";
+    static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+    static final int MAX_LOGGED_FRAMES = 16;
+
+    final Duration threshold;
+    final Counter pinnedCounter;
+    RecordingStream recordingStream;
+
+    public VirtualThreadPinningMonitor(@Value("${shareit.diagnostics.pinning.threshold:20ms}") Duration threshold,
+                                       MeterRegistry meterRegistry) {
+        this.threshold = threshold;
+        this.pinnedCounter = Counter.builder("shareit.virtual.threads.pinned")
+            .description("Virtual threads pinned to their carrier longer than the configured threshold")
+            .register(meterRegistry);
+    }
+
+    @Override
+    public synchronized void start() {
+        recordingStream = new RecordingStream();
+        recordingStream.enable(PINNED_EVENT).withThreshold(threshold).withStackTrace();
+        recordingStream.onEvent(PINNED_EVENT, this::onPinned);
+        recordingStream.startAsync();
+        log.info("Watching for virtual threads pinned longer than {}", threshold);
+    }
+
+    @Override
+    public synchronized void stop() {
+        if (recordingStream != null) {
+            recordingStream.close();
+            recordingStream = null;
+        }
+    }
+
+    @Override
+    public synchronized boolean isRunning() {
+        return recordingStream != null;
+    }
+
+    private void onPinned(RecordedEvent event) {
+        pinnedCounter.increment();
+        String frames = event.getStackTrace() == null ? "" : event.getStackTrace().getFrames().stream()
+            .limit(MAX_LOGGED_FRAMES)
+            .map(this::formatFrame)
+            .collect(Collectors.joining(System.lineSeparator()));
+        log.warn("Virtual thread {} pinned for {} ms{}{}", event.getThread() == null ? "?" :
+            event.getThread().getJavaName(), event.getDuration().toMillis(), System.lineSeparator(), frames);
+    }
+
+    private String formatFrame(RecordedFrame frame) {
+        return String.format("\tat %s.%s:%s", frame.getMethod().getType().getName(), frame.getMethod().getName(),
+            frame.getLineNumber());
+    }
+}
@@ -0,0 +1,33 @@
+package ru.practicum.shareit.datasource;
+
+import lombok.AccessLevel;
+import lombok.Data;
+import lombok.experimental.FieldDefaults;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@FieldDefaults(level = AccessLevel.PRIVATE)
+@ConfigurationProperties(ReplicaProperties.PREFIX)
+public class ReplicaProperties {
+    public static final String PREFIX = "shareit.datasource";
+
+    List<Replica> replicas = new ArrayList<>();
+    Duration maxLag = Duration.ofSeconds(5);
+    Duration checkInterval = Duration.ofSeconds(5);
+    String lagQuery = "select case when pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() then 0 " +
+        "else coalesce(extract(epoch from now() - pg_last_xact_replay_timestamp()), 0) end";
+
+    @Data
+    @FieldDefaults(level = AccessLevel.PRIVATE)
+    public static class Replica {
+        String url;
+        String username;
+        String password;
+        int maximumPoolSize = 10;
+        Duration connectionTimeout = Duration.ofSeconds(5);
+    }
+}
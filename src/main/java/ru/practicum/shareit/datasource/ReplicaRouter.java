@@ -0,0 +1,153 @@
+package ru.practicum.shareit.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.StringUtils;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+@Slf4j
+class ReplicaRouter extends AbstractDataSource implements Closeable {
+    static final String ROUTE_METRIC = "shareit.datasource.route";
+    static final String LAG_METRIC = "shareit.datasource.replica.lag";
+
+    private final DataSource primary;
+    private final List<Replica> replicas;
+    private final ReplicaProperties properties;
+    private final Counter fallbackCounter;
+    private final AtomicInteger next = new AtomicInteger();
+
+    ReplicaRouter(DataSource primary, List<HikariDataSource> replicaDataSources, ReplicaProperties properties,
+                  MeterRegistry meterRegistry) {
+        this.primary = primary;
+        this.properties = properties;
+        this.replicas = replicaDataSources.stream().map(dataSource -> new Replica(dataSource, meterRegistry)).toList();
+        this.fallbackCounter = Counter.builder(ROUTE_METRIC)
+            .description("Read-only connections handed out, by route")
+            .tag("route", "primary-fallback")
+            .register(meterRegistry);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return primary.getConnection();
+        }
+        int start = Math.floorMod(next.getAndIncrement(), replicas.size());
+        for (int i = 0; i < replicas.size(); i++) {
+            Replica replica = replicas.get((start + i) % replicas.size());
+            if (replica.isAvailable()) {
+                try {
+                    Connection connection = replica.dataSource.getConnection();
+                    replica.routed.increment();
+                    return connection;
+                } catch (SQLException e) {
+                    replica.markUnavailable(e);
+                }
+            }
+        }
+        fallbackCounter.increment();
+        return primary.getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        throw new SQLFeatureNotSupportedException("Replica connections use the configured credentials");
+    }
+
+    @Override
+    public void close() {
+        replicas.forEach(replica -> replica.dataSource.close());
+    }
+
+    DataSource getPrimary() {
+        return primary;
+    }
+
+    private final class Replica {
+        final HikariDataSource dataSource;
+        final Counter routed;
+        volatile boolean healthy;
+        volatile double lagSeconds;
+        volatile long checkedAt = Long.MIN_VALUE;
+        final ReentrantLock checkLock = new ReentrantLock();
+
+        Replica(HikariDataSource dataSource, MeterRegistry meterRegistry) {
+            this.dataSource = dataSource;
+            this.routed = Counter.builder(ROUTE_METRIC)
+                .description("Read-only connections handed out, by route")
+                .tag("route", dataSource.getPoolName())
+                .register(meterRegistry);
+            Gauge.builder(LAG_METRIC, this, replica -> replica.lagSeconds)
+                .description("Last measured replication lag")
+                .baseUnit("seconds")
+                .tag("replica", dataSource.getPoolName())
+                .register(meterRegistry);
+        }
+
+        /**
+         * Returns the last known state, refreshing it first when the check interval has elapsed. Only the
+         * thread that wins the lock runs the lag query; concurrent readers keep using the previous state
+         * instead of queueing behind a slow replica.
+         */
+        boolean isAvailable() {
+            if (isCheckDue() && checkLock.tryLock()) {
+                try {
+                    if (isCheckDue()) {
+                        check();
+                        checkedAt = System.nanoTime();
+                    }
+                } finally {
+                    checkLock.unlock();
+                }
+            }
+            return healthy;
+        }
+
+        private boolean isCheckDue() {
+            long lastCheck = checkedAt;
+            return lastCheck == Long.MIN_VALUE || System.nanoTime() - lastCheck >= properties.getCheckInterval().toNanos();
+        }
+
+        void markUnavailable(SQLException exception) {
+            log.warn("Replica {} is unavailable, reading from primary: {}", dataSource.getPoolName(),
+                exception.getMessage());
+            healthy = false;
+            checkedAt = System.nanoTime();
+        }
+
+        private void check() {
+            if (!StringUtils.hasText(properties.getLagQuery())) {
+                healthy = true;
+                return;
+            }
+            try (Connection connection = dataSource.getConnection();
+                 Statement statement = connection.createStatement();
+                 ResultSet resultSet = statement.executeQuery(properties.getLagQuery())) {
+                lagSeconds = resultSet.next() ? resultSet.getDouble(1) : 0;
+                boolean wasHealthy = healthy;
+                healthy = lagSeconds * 1000 <= properties.getMaxLag().toMillis();
+                if (wasHealthy && !healthy) {
+                    log.warn("Replica {} lags {} s behind primary, reading from primary", dataSource.getPoolName(),
+                        lagSeconds);
+                }
+            } catch (SQLException e) {
+                markUnavailable(e);
+            }
+        }
+    }
+}
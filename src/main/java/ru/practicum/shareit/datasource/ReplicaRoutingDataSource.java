@@ -0,0 +1,23 @@
+package ru.practicum.shareit.datasource;
+
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+public class ReplicaRoutingDataSource extends LazyConnectionDataSourceProxy implements Closeable {
+    private final ReplicaRouter replicaRouter;
+
+    ReplicaRoutingDataSource(ReplicaRouter replicaRouter) {
+        super(replicaRouter);
+        this.replicaRouter = replicaRouter;
+    }
+
+    @Override
+    public void close() throws IOException {
+        replicaRouter.close();
+        if (replicaRouter.getPrimary() instanceof Closeable primary) {
+            primary.close();
+        }
+    }
+}
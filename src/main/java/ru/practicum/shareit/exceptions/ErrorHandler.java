@@ -1,11 +1,13 @@
 package ru.practicum.shareit.exceptions;
 
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
 
 @Slf4j
 @RestControllerAdvice
@@ -17,6 +19,13 @@ public class ErrorHandler {
         return new ErrorResponse("error", exception.getMessage());
     }
 
+    @ExceptionHandler
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public ErrorResponse notAvailableException(NotAvailableException exception) {
+        log.info("Status 400 - Bad Request received {}", exception.getMessage());
+        return new ErrorResponse("error", exception.getMessage());
+    }
+
     @ExceptionHandler
     @ResponseStatus(HttpStatus.CONFLICT)
     public ErrorResponse duplicateException(DuplicatedException exception) {
@@ -24,6 +33,13 @@ public class ErrorHandler {
         return new ErrorResponse("error", exception.getMessage());
     }
 
+    @ExceptionHandler
+    @ResponseStatus(HttpStatus.CONFLICT)
+    public ErrorResponse optimisticLockingFailureException(OptimisticLockingFailureException exception) {
+        log.warn("Status 409 - Conflict received {}", exception.getMessage());
+        return new ErrorResponse("error", "Resource was modified concurrently");
+    }
+
     @ExceptionHandler
     @ResponseStatus(HttpStatus.NOT_FOUND)
     public ErrorResponse notFoundException(NotFoundException exception) {
@@ -51,4 +67,11 @@ public class ErrorHandler {
         log.warn("Status 400 - Bad Request received {}", exception.getMessage());
         return new ErrorResponse("error", exception.getMessage());
     }
+
+    @ExceptionHandler
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public ErrorResponse methodArgumentTypeMismatchException(MethodArgumentTypeMismatchException exception) {
+        log.info("Status 400 - Bad Request received {}", exception.getMessage());
+        return new ErrorResponse("error", String.format("Invalid value for parameter %s", exception.getName()));
+    }
 }
@@ -3,13 +3,17 @@ package ru.practicum.shareit.item;
 import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
 import lombok.experimental.FieldDefaults;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import ru.practicum.shareit.item.dto.ItemAvailabilityDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemDtoWithComments;
 import ru.practicum.shareit.item.dto.RequestCommentDto;
 import ru.practicum.shareit.item.dto.ResponseCommentDto;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @RestController
@@ -18,18 +22,35 @@ import java.util.List;
 @FieldDefaults(level = AccessLevel.PRIVATE)
 public class ItemController {
     static final String USER_ID_HEADER = "X-Sharer-User-Id";
+    static final String DEFAULT_SEARCH_SIZE = "20";
     final ItemService itemService;
 
     @GetMapping
-    public List<ItemDtoWithComments> getItems(@RequestHeader(USER_ID_HEADER) long userId) {
+    public List<ItemDtoWithComments> getItems(@RequestHeader(USER_ID_HEADER) long userId, WebRequest webRequest) {
+        if (webRequest.checkNotModified(itemService.getItemsTag(userId))) {
+            return null;
+        }
         return itemService.getItems(userId);
     }
 
     @GetMapping("/{itemId}")
-    public ItemDtoWithComments getItemById(@RequestHeader(USER_ID_HEADER) long userId, @PathVariable long itemId) {
+    public ItemDtoWithComments getItemById(@RequestHeader(USER_ID_HEADER) long userId, @PathVariable long itemId,
+                                           WebRequest webRequest) {
+        if (webRequest.checkNotModified(itemService.getItemTag(userId, itemId))) {
+            return null;
+        }
         return itemService.getItemById(userId, itemId);
     }
 
+    @GetMapping("/{itemId}/availability")
+    public ItemAvailabilityDto getAvailability(@PathVariable long itemId,
+                                               @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                                               LocalDateTime from,
+                                               @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                                               LocalDateTime to) {
+        return itemService.getAvailability(itemId, from, to);
+    }
+
     @PostMapping
     public ItemDto createItem(@RequestHeader(USER_ID_HEADER) long userId, @Validated @RequestBody ItemDto itemDto) {
         return itemService.createItem(userId, itemDto);
@@ -47,8 +68,9 @@ public class ItemController {
     }
 
     @GetMapping("/search")
-    public List<ItemDto> search(@RequestParam String text) {
-        return itemService.searchItems(text);
+    public List<ItemDto> search(@RequestParam String text,
+                                @RequestParam(required = false, defaultValue = DEFAULT_SEARCH_SIZE) int size) {
+        return itemService.searchItems(text, size);
     }
 
     @PostMapping("/{itemId}/comment")
@@ -0,0 +1,24 @@
+package ru.practicum.shareit.item;
+
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.item.dto.ItemDtoWithComments;
+
+@RestController
+@RequestMapping("/feed/items")
+@FieldDefaults(level = AccessLevel.PRIVATE)
+@RequiredArgsConstructor
+public class ItemFeedController {
+    static final String USER_ID_HEADER = "X-Sharer-User-Id";
+
+    final ItemFeedService itemFeedService;
+
+    @GetMapping("/{itemId}")
+    public Mono<ItemDtoWithComments> getItemById(@RequestHeader(USER_ID_HEADER) long userId,
+                                                 @PathVariable long itemId) {
+        return itemFeedService.getItemById(userId, itemId);
+    }
+}
@@ -0,0 +1,8 @@
+package ru.practicum.shareit.item;
+
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.item.dto.ItemDtoWithComments;
+
+public interface ItemFeedService {
+    Mono<ItemDtoWithComments> getItemById(long userId, long itemId);
+}
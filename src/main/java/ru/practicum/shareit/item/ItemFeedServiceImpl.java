@@ -0,0 +1,106 @@
+package ru.practicum.shareit.item;
+
+import io.r2dbc.spi.Readable;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.Value;
+import lombok.experimental.FieldDefaults;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.booking.dto.ItemBookingDates;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.exceptions.NotFoundException;
+import ru.practicum.shareit.item.dto.ItemDtoWithComments;
+import ru.practicum.shareit.item.dto.ResponseCommentDto;
+import ru.practicum.shareit.item.mappers.ItemMapper;
+import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class ItemFeedServiceImpl implements ItemFeedService {
+    final DatabaseClient databaseClient;
+
+    @Override
+    public Mono<ItemDtoWithComments> getItemById(long userId, long itemId) {
+        return databaseClient.sql("select id, name, description, is_available, owner_id from items where id = :itemId")
+            .bind("itemId", itemId)
+            .map(this::mapToItem)
+            .first()
+            .switchIfEmpty(Mono.error(() -> new NotFoundException(String.format("Item ID=%s not found", itemId))))
+            .flatMap(item -> {
+                ItemDtoWithComments itemDtoWithComments = ItemMapper.mapToItemDtoWithComments(item);
+                Mono<ItemDtoWithComments> withComments = findComments(itemId)
+                    .doOnNext(comments -> itemDtoWithComments.getComments().addAll(comments))
+                    .thenReturn(itemDtoWithComments);
+                if (item.getOwner().getId() != userId) {
+                    return withComments;
+                }
+                return withComments.then(findApprovedBookingDates(itemId))
+                    .doOnNext(bookingDates -> ItemMapper.applyBookingDates(itemDtoWithComments, bookingDates))
+                    .thenReturn(itemDtoWithComments);
+            });
+    }
+
+    private Mono<List<ResponseCommentDto>> findComments(long itemId) {
+        return databaseClient.sql("select c.id, c.text, c.created, u.name as author_name from comments c " +
+                "join users u on u.id = c.user_id where c.item_id = :itemId order by c.id")
+            .bind("itemId", itemId)
+            .map(this::mapToComment)
+            .all()
+            .map(ItemMapper::mapToCommentDto)
+            .collectList();
+    }
+
+    // same aggregate as BookingRepository.findApprovedBookingDatesByItemId
+    private Mono<BookingDates> findApprovedBookingDates(long itemId) {
+        return databaseClient.sql("select item_id, " +
+                "max(case when start_date <= :now then start_date end) as last_booking, " +
+                "min(case when start_date > :now then start_date end) as next_booking " +
+                "from bookings where item_id = :itemId and status = :status group by item_id")
+            .bind("now", LocalDateTime.now())
+            .bind("itemId", itemId)
+            .bind("status", BookingStatus.APPROVED.name())
+            .map(row -> new BookingDates(row.get("item_id", Long.class),
+                row.get("last_booking", LocalDateTime.class), row.get("next_booking", LocalDateTime.class)))
+            .first();
+    }
+
+    private Item mapToItem(Readable row) {
+        User owner = new User();
+        owner.setId(row.get("owner_id", Long.class));
+
+        Item item = new Item();
+        item.setId(row.get("id", Long.class));
+        item.setName(row.get("name", String.class));
+        item.setDescription(row.get("description", String.class));
+        item.setAvailable(Boolean.TRUE.equals(row.get("is_available", Boolean.class)));
+        item.setOwner(owner);
+        return item;
+    }
+
+    private Comment mapToComment(Readable row) {
+        User author = new User();
+        author.setName(row.get("author_name", String.class));
+
+        Comment comment = new Comment();
+        comment.setId(row.get("id", Long.class));
+        comment.setText(row.get("text", String.class));
+        comment.setAuthor(author);
+        comment.setCreated(row.get("created", LocalDateTime.class));
+        return comment;
+    }
+
+    @Value
+    static class BookingDates implements ItemBookingDates {
+        Long itemId;
+        LocalDateTime lastBooking;
+        LocalDateTime nextBooking;
+    }
+}
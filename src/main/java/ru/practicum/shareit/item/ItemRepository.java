@@ -1,17 +1,67 @@
 package ru.practicum.shareit.item;
 
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.item.dto.ItemListVersion;
+import ru.practicum.shareit.item.dto.ItemVersion;
 import ru.practicum.shareit.item.model.Item;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 public interface ItemRepository extends JpaRepository<Item, Long> {
+    @Query("select i.owner.id as ownerId, i.version as version, count(c.id) as commentCount, " +
+        "coalesce(max(c.id), 0) as lastCommentId, coalesce(sum(a.version), 0) as authorVersions " +
+        "from Item i left join Comment c on c.item = i left join c.author a " +
+        "where i.id = :id group by i.owner.id, i.version")
+    Optional<ItemVersion> findVersionById(@Param("id") Long id);
+
+    @Query("select count(i) as itemCount, coalesce(max(i.id), 0) as lastItemId, " +
+        "coalesce(max(i.version), 0) as maxVersion, coalesce(sum(i.version), 0) as versionSum, " +
+        "(select count(c) from Comment c where c.item.owner.id = :ownerId) as commentCount, " +
+        "(select coalesce(max(c.id), 0) from Comment c where c.item.owner.id = :ownerId) as lastCommentId, " +
+        "(select coalesce(sum(a.version), 0) from Comment c join c.author a where c.item.owner.id = :ownerId) " +
+        "as authorVersions, " +
+        "(select coalesce(sum(b.id), 0) from Booking b where b.item.owner.id = :ownerId and b.status = :status) " +
+        "as bookingIds, " +
+        "(select count(b) from Booking b where b.item.owner.id = :ownerId and b.status = :status " +
+        "and b.start <= :now) as startedBookingCount " +
+        "from Item i where i.owner.id = :ownerId")
+    ItemListVersion findListVersionByOwnerId(@Param("ownerId") Long ownerId, @Param("status") BookingStatus status,
+                                             @Param("now") LocalDateTime now);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select i from Item i where i.id = :id")
+    Optional<Item> findForUpdateById(@Param("id") Long id);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    List<Item> findAllForUpdateByIdInOrderByIdAsc(Collection<Long> ids);
+
     List<Item> findByOwnerId(long userId);
 
+    List<Item> findAllByRequestIdIn(Collection<Long> requestIds);
+
+    List<Item> findByIdGreaterThanOrderByIdAsc(long id, Limit limit);
+
     @Query(" select i from Item i " +
         "where (upper(i.name) like upper(concat('%', ?1, '%')) " +
         "or upper(i.description) like upper(concat('%', ?1, '%'))) " +
-        "and i.available = true")
-    List<Item> search(String text);
+        "and i.available = true " +
+        "order by case when upper(i.name) like upper(concat('%', ?1, '%')) then 0 else 1 end, i.id")
+    List<Item> search(String text, Limit limit);
+
+    @Query(value = "select i.* from items i " +
+        "where i.is_available = true " +
+        "and to_tsvector('simple', i.name || ' ' || i.description) @@ to_tsquery('simple', :query) " +
+        "order by ts_rank(to_tsvector('simple', i.name || ' ' || i.description), " +
+        "to_tsquery('simple', :query)) desc, i.id " +
+        "limit :limit", nativeQuery = true)
+    List<Item> searchFullText(@Param("query") String query, @Param("limit") int limit);
 }
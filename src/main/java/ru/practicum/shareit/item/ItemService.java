@@ -1,10 +1,12 @@
 package ru.practicum.shareit.item;
 
+import ru.practicum.shareit.item.dto.ItemAvailabilityDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemDtoWithComments;
 import ru.practicum.shareit.item.dto.RequestCommentDto;
 import ru.practicum.shareit.item.dto.ResponseCommentDto;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface ItemService {
@@ -14,11 +16,17 @@ public interface ItemService {
 
     ItemDtoWithComments getItemById(long userId, long itemId);
 
+    String getItemTag(long userId, long itemId);
+
+    String getItemsTag(long userId);
+
     ItemDto updateItem(long itemId, long userId, ItemDto itemDto);
 
     ItemDto deleteItem(long itemId);
 
-    List<ItemDto> searchItems(String text);
+    List<ItemDto> searchItems(String text, int size);
+
+    ItemAvailabilityDto getAvailability(long itemId, LocalDateTime from, LocalDateTime to);
 
     ResponseCommentDto createComment(long userId, long itemId, RequestCommentDto requestCommentDto);
 }
@@ -3,69 +3,116 @@ package ru.practicum.shareit.item;
 import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
 import lombok.experimental.FieldDefaults;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.booking.BookingRepository;
-import ru.practicum.shareit.booking.dto.ResponseBookingDto;
-import ru.practicum.shareit.booking.mappers.BookingMapper;
+import ru.practicum.shareit.booking.calendar.BookingCalendar;
+import ru.practicum.shareit.booking.calendar.BookingSlot;
+import ru.practicum.shareit.booking.dto.ItemBookingDates;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.concurrency.RetryOnConflict;
 import ru.practicum.shareit.exceptions.NotFoundException;
 import ru.practicum.shareit.exceptions.PermissionException;
 import ru.practicum.shareit.exceptions.ValidationException;
+import ru.practicum.shareit.item.dto.ItemAvailabilityDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemDtoWithComments;
+import ru.practicum.shareit.item.dto.ItemListVersion;
+import ru.practicum.shareit.item.dto.ItemVersion;
 import ru.practicum.shareit.item.dto.RequestCommentDto;
 import ru.practicum.shareit.item.dto.ResponseCommentDto;
+import ru.practicum.shareit.item.event.ItemDeletedEvent;
+import ru.practicum.shareit.item.event.ItemRequestAnsweredEvent;
+import ru.practicum.shareit.item.event.ItemSavedEvent;
 import ru.practicum.shareit.item.mappers.ItemMapper;
 import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.search.ItemSearch;
+import ru.practicum.shareit.request.ItemRequestRepository;
+import ru.practicum.shareit.user.UserCache;
 import ru.practicum.shareit.user.UserRepository;
-import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.dto.UserSnapshot;
 
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
+@Transactional(readOnly = true)
 @FieldDefaults(level = AccessLevel.PRIVATE)
 public class ItemServiceImpl implements ItemService {
     final ItemRepository itemRepository;
     final UserRepository userRepository;
+    final UserCache userCache;
     final BookingRepository bookingRepository;
     final CommentRepository commentRepository;
+    final ItemRequestRepository itemRequestRepository;
+    final ItemSearch itemSearch;
+    final BookingCalendar bookingCalendar;
+    final ApplicationEventPublisher eventPublisher;
 
     @Override
     public List<ItemDtoWithComments> getItems(long userId) {
-        Map<Long, List<ResponseCommentDto>> commentDtoMap = commentRepository.findAll()
-            .stream().map(ItemMapper::mapToCommentDto).collect(Collectors.groupingBy(ResponseCommentDto::getId));
+        List<Item> items = itemRepository.findByOwnerId(userId);
+        if (items.isEmpty()) {
+            return Collections.emptyList();
+        }
+        List<Long> itemIds = items.stream().map(Item::getId).toList();
 
-        Map<Long, List<ResponseBookingDto>> bookingDtoMap = bookingRepository.findAllByItemOwnerId(userId)
-            .stream().map(BookingMapper::mapToResponseBookingDto)
-            .collect(Collectors.groupingBy(responseBookingDto -> responseBookingDto.getItem().getId()));
+        Map<Long, List<ResponseCommentDto>> commentDtoMap = commentRepository.findAllByItemIdIn(itemIds)
+            .stream().collect(Collectors.groupingBy(comment -> comment.getItem().getId(),
+                Collectors.mapping(ItemMapper::mapToCommentDto, Collectors.toList())));
 
-        return itemRepository.findByOwnerId(userId).stream()
+        Map<Long, ItemBookingDates> bookingDatesMap = bookingRepository
+            .findApprovedBookingDatesByItemIds(itemIds, LocalDateTime.now())
+            .stream().collect(Collectors.toMap(ItemBookingDates::getItemId, Function.identity()));
+
+        return items.stream()
             .map(item -> {
                 ItemDtoWithComments itemDtoWithComments = ItemMapper.mapToItemDtoWithComments(item);
-                itemDtoWithComments.setComments(commentDtoMap.get(item.getId()));
-
-                LocalDateTime nextBookingDto = bookingDtoMap.getOrDefault(item.getId(), new LinkedList<>())
-                    .stream().map(ResponseBookingDto::getEnd).max(LocalDateTime::compareTo).orElse(null);
-                LocalDateTime lastBookingDto = bookingDtoMap.getOrDefault(item.getId(), new LinkedList<>())
-                    .stream().map(ResponseBookingDto::getStart).min(LocalDateTime::compareTo).orElse(null);
+                itemDtoWithComments.setComments(commentDtoMap.getOrDefault(item.getId(), Collections.emptyList()));
 
-                itemDtoWithComments.setNextBooking(nextBookingDto);
-                itemDtoWithComments.setLastBooking(lastBookingDto);
+                ItemBookingDates bookingDates = bookingDatesMap.get(item.getId());
+                if (bookingDates != null) {
+                    ItemMapper.applyBookingDates(itemDtoWithComments, bookingDates);
+                }
 
                 return itemDtoWithComments;
             }).toList();
     }
 
     @Override
+    public String getItemsTag(long userId) {
+        ItemListVersion version = itemRepository.findListVersionByOwnerId(userId, BookingStatus.APPROVED,
+            LocalDateTime.now());
+        return String.format("%d-%d-%d-%d-%d-%d-%d-%d-%d", version.getItemCount(), version.getLastItemId(),
+            version.getMaxVersion(), version.getVersionSum(), version.getCommentCount(), version.getLastCommentId(),
+            version.getAuthorVersions(), version.getBookingIds(), version.getStartedBookingCount());
+    }
+
+    @Override
+    @Transactional
     public ItemDto createItem(long userId, ItemDto itemDto) {
         Item item = ItemMapper.mapToItem(itemDto);
-        User user = userRepository.findById(userId)
-            .orElseThrow(() -> new NotFoundException(String.format("User ID=%s not found", userId)));
-        item.setOwner(user);
-        return ItemMapper.mapToItemDto(itemRepository.save(item));
+        if (userCache.findById(userId).isEmpty()) {
+            throw new NotFoundException(String.format("User ID=%s not found", userId));
+        }
+        item.setOwner(userRepository.getReferenceById(userId));
+        if (itemDto.getRequestId() != null) {
+            item.setRequest(itemRequestRepository.findById(itemDto.getRequestId())
+                .orElseThrow(() -> new NotFoundException(String.format("Request ID=%s not found",
+                    itemDto.getRequestId()))));
+        }
+        ItemDto savedItemDto = ItemMapper.mapToItemDto(itemRepository.save(item));
+        eventPublisher.publishEvent(new ItemSavedEvent(savedItemDto));
+        if (item.getRequest() != null) {
+            eventPublisher.publishEvent(new ItemRequestAnsweredEvent(savedItemDto,
+                item.getRequest().getRequestor().getId()));
+        }
+        return savedItemDto;
     }
 
     @Override
@@ -74,31 +121,41 @@ public class ItemServiceImpl implements ItemService {
             .orElseThrow(() -> new NotFoundException(String.format("Item ID=%s not found", itemId)));
         List<ResponseCommentDto> commentDtos = commentRepository.findAllByItemId(itemId)
             .stream().map(ItemMapper::mapToCommentDto).toList();
-        List<ResponseBookingDto> bookingDtos = bookingRepository.findAllByItemId(itemId)
-            .stream().map(BookingMapper::mapToResponseBookingDto).toList();
         ItemDtoWithComments itemDtoWithComments = ItemMapper.mapToItemDtoWithComments(item);
         itemDtoWithComments.setComments(commentDtos);
 
-        if (item.getOwner().getId().equals(userId)) {
-            LocalDateTime nextBookingDto = bookingDtos
-                .stream().map(ResponseBookingDto::getEnd).max(LocalDateTime::compareTo).orElse(null);
-            LocalDateTime lastBookingDto = bookingDtos
-                .stream().map(ResponseBookingDto::getStart).min(LocalDateTime::compareTo).orElse(null);
-
-            itemDtoWithComments.setNextBooking(nextBookingDto);
-            itemDtoWithComments.setLastBooking(lastBookingDto);
+        if (item.getOwner().getId() == userId) {
+            bookingRepository.findApprovedBookingDatesByItemId(itemId, LocalDateTime.now())
+                .ifPresent(bookingDates -> ItemMapper.applyBookingDates(itemDtoWithComments, bookingDates));
         }
         return itemDtoWithComments;
     }
 
     @Override
+    public String getItemTag(long userId, long itemId) {
+        ItemVersion itemVersion = itemRepository.findVersionById(itemId)
+            .orElseThrow(() -> new NotFoundException(String.format("Item ID=%s not found", itemId)));
+        String tag = String.format("%d-%d-%d-%d-%d", itemId, itemVersion.getVersion(),
+            itemVersion.getCommentCount(), itemVersion.getLastCommentId(), itemVersion.getAuthorVersions());
+        if (!itemVersion.getOwnerId().equals(userId)) {
+            return tag;
+        }
+        return bookingRepository.findApprovedBookingDatesByItemId(itemId, LocalDateTime.now())
+            .map(bookingDates -> tag + "-" + bookingDates.getLastBooking() + "-" + bookingDates.getNextBooking())
+            .orElse(tag);
+    }
+
+    @Override
+    @Transactional
+    @RetryOnConflict
     public ItemDto updateItem(long itemId, long userId, ItemDto itemDto) {
         final Item oldItem = itemRepository.findById(itemId)
             .orElseThrow(() -> new NotFoundException(String.format("Item ID=%s not found", itemId)));
         final String name = itemDto.getName();
         final String description = itemDto.getDescription();
-        final User owner = userRepository.findById(userId)
-            .orElseThrow(() -> new NotFoundException(String.format("User ID=%s not found", userId)));
+        if (userCache.findById(userId).isEmpty()) {
+            throw new NotFoundException(String.format("User ID=%s not found", userId));
+        }
 
         if (oldItem.getOwner().getId() != userId) {
             throw new PermissionException("Access denied");
@@ -113,41 +170,78 @@ public class ItemServiceImpl implements ItemService {
             oldItem.setAvailable(itemDto.getAvailable());
         }
 
-        oldItem.setOwner(owner);
-        itemRepository.save(oldItem);
-        return ItemMapper.mapToItemDto(oldItem);
+        ItemDto savedItemDto = ItemMapper.mapToItemDto(itemRepository.save(oldItem));
+        eventPublisher.publishEvent(new ItemSavedEvent(savedItemDto));
+        return savedItemDto;
     }
 
     @Override
+    @Transactional
     public ItemDto deleteItem(long itemId) {
         Item item = itemRepository.findById(itemId)
             .orElseThrow(() -> new NotFoundException(String.format("Item ID=%s not found", itemId)));
 
         itemRepository.delete(item);
+        eventPublisher.publishEvent(new ItemDeletedEvent(itemId));
         return ItemMapper.mapToItemDto(item);
     }
 
     @Override
-    public List<ItemDto> searchItems(String text) {
+    public List<ItemDto> searchItems(String text, int size) {
+        if (size < 1 || size > ItemSearch.MAX_LIMIT) {
+            throw new ValidationException(String.format("Search size must be between 1 and %s", ItemSearch.MAX_LIMIT));
+        }
         if (text.isBlank()) {
             return Collections.emptyList();
         }
-        return itemRepository.search(text.toUpperCase())
-            .stream().map(ItemMapper::mapToItemDto).toList();
+        return itemSearch.search(text, size);
     }
 
     @Override
+    public ItemAvailabilityDto getAvailability(long itemId, LocalDateTime from, LocalDateTime to) {
+        if (!from.isBefore(to)) {
+            throw new ValidationException("Start time must be before end time");
+        }
+        if (!itemRepository.existsById(itemId)) {
+            throw new NotFoundException(String.format("Item ID=%s not found", itemId));
+        }
+
+        ItemAvailabilityDto itemAvailabilityDto = new ItemAvailabilityDto();
+        itemAvailabilityDto.setItemId(itemId);
+        itemAvailabilityDto.setFrom(from);
+        itemAvailabilityDto.setTo(to);
+
+        LocalDateTime cursor = from;
+        for (BookingSlot slot : bookingCalendar.getBusySlots(itemId, from, to)) {
+            LocalDateTime busyStart = slot.getStart().isBefore(cursor) ? cursor : slot.getStart();
+            LocalDateTime busyEnd = slot.getEnd().isAfter(to) ? to : slot.getEnd();
+            if (!busyEnd.isAfter(cursor)) {
+                continue;
+            }
+            if (busyStart.isAfter(cursor)) {
+                itemAvailabilityDto.getSlots().add(ItemMapper.mapToAvailabilitySlotDto(cursor, busyStart, false));
+            }
+            itemAvailabilityDto.getSlots().add(ItemMapper.mapToAvailabilitySlotDto(busyStart, busyEnd, true));
+            cursor = busyEnd;
+        }
+        if (cursor.isBefore(to)) {
+            itemAvailabilityDto.getSlots().add(ItemMapper.mapToAvailabilitySlotDto(cursor, to, false));
+        }
+        return itemAvailabilityDto;
+    }
+
+    @Override
+    @Transactional
     public ResponseCommentDto createComment(long userId, long itemId, RequestCommentDto requestCommentDto) {
         if (!bookingRepository.existsByBookerIdAndItemIdAndEndBefore(userId, itemId, LocalDateTime.now())) {
             throw new ValidationException("Access denied");
         }
 
-        Item item = itemRepository.findById(itemId)
-            .orElseThrow(() -> new NotFoundException(String.format("Item ID=%s not found", itemId)));
-        User user = userRepository.findById(userId)
+        UserSnapshot author = userCache.findById(userId)
             .orElseThrow(() -> new NotFoundException(String.format("User ID=%s not found", userId)));
-        Comment comment = ItemMapper.mapToComment(requestCommentDto, user, item);
+        Comment comment = ItemMapper.mapToComment(requestCommentDto, userRepository.getReferenceById(userId),
+            itemRepository.getReferenceById(itemId));
         commentRepository.save(comment);
-        return ItemMapper.mapToCommentDto(comment);
+        return ItemMapper.mapToCommentDto(comment, author.getName());
     }
 }
@@ -16,4 +16,5 @@ public class ItemDto {
     String description;
     @NotNull
     Boolean available;
+    Long requestId;
 }
@@ -0,0 +1,21 @@
+package ru.practicum.shareit.item.dto;
+
+public interface ItemListVersion {
+    Long getItemCount();
+
+    Long getLastItemId();
+
+    Long getMaxVersion();
+
+    Long getVersionSum();
+
+    Long getCommentCount();
+
+    Long getLastCommentId();
+
+    Long getAuthorVersions();
+
+    Long getBookingIds();
+
+    Long getStartedBookingCount();
+}
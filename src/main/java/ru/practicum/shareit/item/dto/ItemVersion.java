@@ -0,0 +1,13 @@
+package ru.practicum.shareit.item.dto;
+
+public interface ItemVersion {
+    Long getOwnerId();
+
+    Long getVersion();
+
+    Long getCommentCount();
+
+    Long getLastCommentId();
+
+    Long getAuthorVersions();
+}
@@ -0,0 +1,10 @@
+package ru.practicum.shareit.item.event;
+
+import lombok.Value;
+import ru.practicum.shareit.item.dto.ItemDto;
+
+@Value
+public class ItemRequestAnsweredEvent {
+    ItemDto item;
+    long requestorId;
+}
@@ -0,0 +1,9 @@
+package ru.practicum.shareit.item.event;
+
+import lombok.Value;
+import ru.practicum.shareit.item.dto.ItemDto;
+
+@Value
+public class ItemSavedEvent {
+    ItemDto item;
+}
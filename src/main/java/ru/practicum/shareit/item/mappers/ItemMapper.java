@@ -1,6 +1,8 @@
 package ru.practicum.shareit.item.mappers;
 
 import lombok.experimental.UtilityClass;
+import ru.practicum.shareit.booking.dto.ItemBookingDates;
+import ru.practicum.shareit.item.dto.AvailabilitySlotDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemDtoWithComments;
 import ru.practicum.shareit.item.dto.RequestCommentDto;
@@ -9,11 +11,15 @@ import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.user.model.User;
 
+import java.time.LocalDateTime;
+
 @UtilityClass
 public class ItemMapper {
     public Item mapToItem(ItemDto itemDto) {
         Item item = new Item();
-        item.setId(itemDto.getId());
+        if (itemDto.getId() != 0) {
+            item.setId(itemDto.getId());
+        }
         item.setName(itemDto.getName());
         item.setDescription(itemDto.getDescription());
         item.setAvailable(itemDto.getAvailable());
@@ -26,6 +32,9 @@ public class ItemMapper {
         itemDto.setName(item.getName());
         itemDto.setDescription(item.getDescription());
         itemDto.setAvailable(item.isAvailable());
+        if (item.getRequest() != null) {
+            itemDto.setRequestId(item.getRequest().getId());
+        }
         return itemDto;
     }
 
@@ -39,6 +48,11 @@ public class ItemMapper {
         return itemDtoWithComments;
     }
 
+    public void applyBookingDates(ItemDtoWithComments itemDtoWithComments, ItemBookingDates bookingDates) {
+        itemDtoWithComments.setLastBooking(bookingDates.getLastBooking());
+        itemDtoWithComments.setNextBooking(bookingDates.getNextBooking());
+    }
+
     public Comment mapToComment(RequestCommentDto requestCommentDto, User user, Item item) {
         Comment comment = new Comment();
         comment.setText(requestCommentDto.getText());
@@ -48,11 +62,23 @@ public class ItemMapper {
     }
 
     public ResponseCommentDto mapToCommentDto(Comment comment) {
+        return mapToCommentDto(comment, comment.getAuthor().getName());
+    }
+
+    public ResponseCommentDto mapToCommentDto(Comment comment, String authorName) {
         ResponseCommentDto responseCommentDto = new ResponseCommentDto();
         responseCommentDto.setId(comment.getId());
         responseCommentDto.setText(comment.getText());
-        responseCommentDto.setAuthorName(comment.getAuthor().getName());
+        responseCommentDto.setAuthorName(authorName);
         responseCommentDto.setCreated(comment.getCreated());
         return responseCommentDto;
     }
+
+    public AvailabilitySlotDto mapToAvailabilitySlotDto(LocalDateTime start, LocalDateTime end, boolean busy) {
+        AvailabilitySlotDto availabilitySlotDto = new AvailabilitySlotDto();
+        availabilitySlotDto.setStart(start);
+        availabilitySlotDto.setEnd(end);
+        availabilitySlotDto.setBusy(busy);
+        return availabilitySlotDto;
+    }
 }
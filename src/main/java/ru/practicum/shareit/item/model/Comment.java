@@ -16,7 +16,8 @@ import java.time.LocalDateTime;
 @FieldDefaults(level = AccessLevel.PRIVATE)
 public class Comment {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "comments_seq")
+    @SequenceGenerator(name = "comments_seq", sequenceName = "comments_seq", allocationSize = 50)
     Long id;
     @Column(name = "text")
     String text;
@@ -27,4 +28,7 @@ public class Comment {
     @JoinColumn(name = "user_id")
     User author;
     LocalDateTime created = LocalDateTime.now();
+    @Version
+    @Column(name = "version")
+    long version;
 }
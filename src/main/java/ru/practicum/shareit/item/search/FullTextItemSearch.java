@@ -0,0 +1,38 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.mappers.ItemMapper;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+@Component
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE)
+@ConditionalOnProperty(name = ItemSearch.ENGINE_PROPERTY, havingValue = "fulltext")
+public class FullTextItemSearch implements ItemSearch {
+    final ItemRepository itemRepository;
+
+    @Override
+    public List<ItemDto> search(String text, int limit) {
+        String query = toPrefixQuery(text);
+        if (query.isEmpty()) {
+            return Collections.emptyList();
+        }
+        return itemRepository.searchFullText(query, limit)
+            .stream().map(ItemMapper::mapToItemDto).toList();
+    }
+
+    static String toPrefixQuery(String text) {
+        return SearchTokens.tokenize(text).stream()
+            .map(token -> token + ":*")
+            .collect(Collectors.joining(" & "));
+    }
+}
@@ -0,0 +1,173 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.event.ItemDeletedEvent;
+import ru.practicum.shareit.item.event.ItemSavedEvent;
+import ru.practicum.shareit.item.mappers.ItemMapper;
+import ru.practicum.shareit.item.model.Item;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE)
+@ConditionalOnProperty(name = ItemSearch.ENGINE_PROPERTY, havingValue = "memory")
+public class InMemoryItemSearch implements ItemSearch, SmartInitializingSingleton {
+    static final int REBUILD_BATCH_SIZE = 1_000;
+
+    final ItemRepository itemRepository;
+
+    final NavigableMap<String, PostingList> postings = new TreeMap<>();
+    final Map<Long, IndexedItem> items = new HashMap<>();
+    final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        long lastId = 0;
+        int indexed = 0;
+        List<Item> batch;
+        do {
+            batch = itemRepository.findByIdGreaterThanOrderByIdAsc(lastId, Limit.of(REBUILD_BATCH_SIZE));
+            for (Item item : batch) {
+                index(ItemMapper.mapToItemDto(item));
+                lastId = item.getId();
+            }
+            indexed += batch.size();
+        } while (batch.size() == REBUILD_BATCH_SIZE);
+        log.info("Item search index rebuilt with {} items, {} terms", indexed, postings.size());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onItemSaved(ItemSavedEvent event) {
+        index(event.getItem());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onItemDeleted(ItemDeletedEvent event) {
+        lock.writeLock().lock();
+        try {
+            unindex(event.getItemId());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public List<ItemDto> search(String text, int limit) {
+        List<String> tokens = SearchTokens.tokenize(text);
+        if (tokens.isEmpty()) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            long[] matches = null;
+            for (String token : tokens) {
+                long[] tokenMatches = prefixMatches(token);
+                matches = matches == null ? tokenMatches : PostingList.intersect(matches, tokenMatches);
+                if (matches.length == 0) {
+                    return List.of();
+                }
+            }
+
+            List<ItemDto> nameMatches = new ArrayList<>();
+            List<ItemDto> descriptionMatches = new ArrayList<>();
+            for (long id : matches) {
+                IndexedItem indexedItem = items.get(id);
+                if (indexedItem.matchesName(tokens)) {
+                    nameMatches.add(indexedItem.item);
+                    if (nameMatches.size() == limit) {
+                        break;
+                    }
+                } else if (descriptionMatches.size() < limit) {
+                    descriptionMatches.add(indexedItem.item);
+                }
+            }
+            nameMatches.addAll(descriptionMatches);
+            return nameMatches.size() > limit ? nameMatches.subList(0, limit) : nameMatches;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void index(ItemDto item) {
+        lock.writeLock().lock();
+        try {
+            unindex(item.getId());
+            if (!Boolean.TRUE.equals(item.getAvailable())) {
+                return;
+            }
+            List<String> nameTerms = SearchTokens.tokenize(item.getName());
+            List<String> terms = new ArrayList<>(nameTerms);
+            SearchTokens.tokenize(item.getDescription()).stream()
+                .filter(term -> !nameTerms.contains(term))
+                .forEach(terms::add);
+            for (String term : terms) {
+                postings.computeIfAbsent(term, key -> new PostingList()).add(item.getId());
+            }
+            items.put(item.getId(), new IndexedItem(item, nameTerms, terms));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void unindex(long itemId) {
+        IndexedItem previous = items.remove(itemId);
+        if (previous == null) {
+            return;
+        }
+        for (String term : previous.terms) {
+            PostingList postingList = postings.get(term);
+            if (postingList != null) {
+                postingList.remove(itemId);
+                if (postingList.isEmpty()) {
+                    postings.remove(term);
+                }
+            }
+        }
+    }
+
+    private long[] prefixMatches(String prefix) {
+        Collection<PostingList> matched = postings.subMap(prefix, true, prefix + Character.MAX_VALUE, true).values();
+        if (matched.size() == 1) {
+            return matched.iterator().next().toArray();
+        }
+        long[] result = new long[matched.stream().mapToInt(PostingList::size).sum()];
+        int offset = 0;
+        for (PostingList postingList : matched) {
+            offset = postingList.copyTo(result, offset);
+        }
+        return PostingList.distinct(result);
+    }
+
+    @RequiredArgsConstructor
+    @FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+    static class IndexedItem {
+        ItemDto item;
+        List<String> nameTerms;
+        List<String> terms;
+
+        boolean matchesName(List<String> prefixes) {
+            return prefixes.stream().allMatch(prefix -> nameTerms.stream().anyMatch(term -> term.startsWith(prefix)));
+        }
+    }
+}
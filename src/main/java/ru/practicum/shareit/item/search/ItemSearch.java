@@ -0,0 +1,12 @@
+package ru.practicum.shareit.item.search;
+
+import ru.practicum.shareit.item.dto.ItemDto;
+
+import java.util.List;
+
+public interface ItemSearch {
+    String ENGINE_PROPERTY = "shareit.search.engine";
+    int MAX_LIMIT = 100;
+
+    List<ItemDto> search(String text, int limit);
+}
@@ -0,0 +1,27 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.mappers.ItemMapper;
+
+import java.util.List;
+
+@Component
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE)
+@ConditionalOnProperty(name = ItemSearch.ENGINE_PROPERTY, havingValue = "like", matchIfMissing = true)
+public class LikeItemSearch implements ItemSearch {
+    final ItemRepository itemRepository;
+
+    @Override
+    public List<ItemDto> search(String text, int limit) {
+        return itemRepository.search(text, Limit.of(limit))
+            .stream().map(ItemMapper::mapToItemDto).toList();
+    }
+}
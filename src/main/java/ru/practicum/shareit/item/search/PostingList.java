@@ -0,0 +1,82 @@
+package ru.practicum.shareit.item.search;
+
+import java.util.Arrays;
+
+class PostingList {
+    static final int INITIAL_CAPACITY = 4;
+
+    long[] ids = new long[INITIAL_CAPACITY];
+    int size;
+
+    void add(long id) {
+        int index = Arrays.binarySearch(ids, 0, size, id);
+        if (index >= 0) {
+            return;
+        }
+        int insertion = -index - 1;
+        if (size == ids.length) {
+            ids = Arrays.copyOf(ids, size * 2);
+        }
+        System.arraycopy(ids, insertion, ids, insertion + 1, size - insertion);
+        ids[insertion] = id;
+        size++;
+    }
+
+    void remove(long id) {
+        int index = Arrays.binarySearch(ids, 0, size, id);
+        if (index < 0) {
+            return;
+        }
+        System.arraycopy(ids, index + 1, ids, index, size - index - 1);
+        size--;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    long[] toArray() {
+        return Arrays.copyOf(ids, size);
+    }
+
+    int size() {
+        return size;
+    }
+
+    int copyTo(long[] target, int offset) {
+        System.arraycopy(ids, 0, target, offset, size);
+        return offset + size;
+    }
+
+    static long[] distinct(long[] ids) {
+        if (ids.length == 0) {
+            return ids;
+        }
+        Arrays.sort(ids);
+        int k = 1;
+        for (int i = 1; i < ids.length; i++) {
+            if (ids[i] != ids[k - 1]) {
+                ids[k++] = ids[i];
+            }
+        }
+        return Arrays.copyOf(ids, k);
+    }
+
+    static long[] intersect(long[] left, long[] right) {
+        long[] result = new long[Math.min(left.length, right.length)];
+        int i = 0;
+        int j = 0;
+        int k = 0;
+        while (i < left.length && j < right.length) {
+            if (left[i] < right[j]) {
+                i++;
+            } else if (left[i] > right[j]) {
+                j++;
+            } else {
+                result[k++] = left[i++];
+                j++;
+            }
+        }
+        return Arrays.copyOf(result, k);
+    }
+}
@@ -0,0 +1,22 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.experimental.UtilityClass;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+@UtilityClass
+class SearchTokens {
+    static final String TOKEN_DELIMITER = "[^\\p{L}\\p{N}]+";
+
+    List<String> tokenize(String text) {
+        if (text == null) {
+            return List.of();
+        }
+        return Arrays.stream(text.toLowerCase(Locale.ROOT).split(TOKEN_DELIMITER))
+            .filter(token -> !token.isEmpty())
+            .distinct()
+            .toList();
+    }
+}
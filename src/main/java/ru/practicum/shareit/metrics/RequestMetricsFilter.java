@@ -0,0 +1,131 @@
+package ru.practicum.shareit.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Records per-request SQL statement counts and payload sizes, tagged by method and matched URI pattern.
+ * <p>
+ * Statements are counted on a counter stored in the request, so SQL run by {@code StreamingResponseBody}
+ * exports on the async executor is included and recorded once the async request completes. The reactive
+ * {@code /feed} endpoints query through R2DBC, which Hibernate never sees, so no statement count is recorded
+ * for them. Async requests are recorded once, by whichever of completion, timeout or error comes first, and
+ * the {@code outcome} tag tells them apart.
+ */
+@Component
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class RequestMetricsFilter extends OncePerRequestFilter {
+    static final String SQL_STATEMENTS = "shareit.http.sql.statements";
+    static final String REQUEST_SIZE = "shareit.http.request.size";
+    static final String RESPONSE_SIZE = "shareit.http.response.size";
+    static final String UNKNOWN_URI = "UNKNOWN";
+    static final String REACTIVE_URI_PREFIX = "/feed/";
+    static final String OUTCOME = "outcome";
+    static final String OUTCOME_COMPLETED = "COMPLETED";
+    static final String OUTCOME_TIMEOUT = "TIMEOUT";
+    static final String OUTCOME_ERROR = "ERROR";
+
+    final MeterRegistry meterRegistry;
+    final SqlStatementCounter sqlStatementCounter;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+        throws ServletException, IOException {
+        CountingResponseWrapper countingResponse = new CountingResponseWrapper(response);
+        AtomicInteger statements = new AtomicInteger();
+        request.setAttribute(SqlStatementCounter.REQUEST_ATTRIBUTE, statements);
+        sqlStatementCounter.bind(statements);
+        try {
+            filterChain.doFilter(request, countingResponse);
+        } finally {
+            sqlStatementCounter.unbind();
+        }
+
+        String uri = uri(request);
+        Tags tags = Tags.of("method", request.getMethod(), "uri", uri);
+        if (request.getContentLengthLong() > 0) {
+            summary(REQUEST_SIZE, "Request payload size", "bytes", tags).record(request.getContentLengthLong());
+        }
+        boolean countsStatements = !uri.startsWith(REACTIVE_URI_PREFIX);
+        if (request.isAsyncStarted()) {
+            AtomicBoolean recorded = new AtomicBoolean();
+            request.getAsyncContext().addListener(new AsyncListener() {
+                @Override
+                public void onComplete(AsyncEvent event) {
+                    recordOnce(OUTCOME_COMPLETED);
+                }
+
+                @Override
+                public void onTimeout(AsyncEvent event) {
+                    recordOnce(OUTCOME_TIMEOUT);
+                }
+
+                @Override
+                public void onError(AsyncEvent event) {
+                    recordOnce(OUTCOME_ERROR);
+                }
+
+                @Override
+                public void onStartAsync(AsyncEvent event) {
+                }
+
+                private void recordOnce(String outcome) {
+                    if (recorded.compareAndSet(false, true)) {
+                        record(countingResponse, statements, countsStatements, tags.and(OUTCOME, outcome));
+                    }
+                }
+            });
+        } else {
+            record(countingResponse, statements, countsStatements, tags.and(OUTCOME, OUTCOME_COMPLETED));
+        }
+    }
+
+    private void record(CountingResponseWrapper response, AtomicInteger statements, boolean countsStatements,
+                        Tags tags) {
+        if (countsStatements) {
+            recordStatements(statements, tags);
+        }
+        recordResponseSize(response, tags);
+    }
+
+    private void recordStatements(AtomicInteger statements, Tags tags) {
+        summary(SQL_STATEMENTS, "SQL statements prepared while handling a request", "statements", tags)
+            .record(statements.get());
+    }
+
+    private void recordResponseSize(CountingResponseWrapper response, Tags tags) {
+        summary(RESPONSE_SIZE, "Response payload size", "bytes", tags).record(response.getBytesWritten());
+    }
+
+    private DistributionSummary summary(String name, String description, String unit, Tags tags) {
+        return DistributionSummary.builder(name)
+            .description(description)
+            .baseUnit(unit)
+            .tags(tags)
+            .publishPercentileHistogram()
+            .register(meterRegistry);
+    }
+
+    private String uri(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return pattern == null ? UNKNOWN_URI : pattern.toString();
+    }
+}
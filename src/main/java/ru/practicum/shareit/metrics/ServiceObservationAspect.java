@@ -0,0 +1,62 @@
+package ru.practicum.shareit.metrics;
+
+import io.micrometer.common.KeyValue;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.booking.model.BookingState;
+
+import java.util.Arrays;
+
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class ServiceObservationAspect {
+    public static final String OBSERVATION_NAME = "shareit.service";
+    static final String SUCCESS = "SUCCESS";
+    static final String NONE = "NONE";
+
+    final ObservationRegistry observationRegistry;
+
+    @Around("execution(* ru.practicum.shareit.booking.BookingService.*(..)) " +
+        "|| execution(* ru.practicum.shareit.item.ItemService.*(..)) " +
+        "|| execution(* ru.practicum.shareit.request.ItemRequestService.*(..)) " +
+        "|| execution(* ru.practicum.shareit.user.UserService.*(..))")
+    public Object observe(ProceedingJoinPoint joinPoint) throws Throwable {
+        String service = joinPoint.getSignature().getDeclaringType().getSimpleName();
+        String method = joinPoint.getSignature().getName();
+        String state = Arrays.stream(joinPoint.getArgs())
+            .filter(BookingState.class::isInstance)
+            .map(argument -> ((BookingState) argument).name())
+            .findFirst()
+            .orElse(NONE);
+
+        Observation observation = Observation.createNotStarted(OBSERVATION_NAME, observationRegistry)
+            .contextualName(service + "#" + method)
+            .lowCardinalityKeyValue("service", service)
+            .lowCardinalityKeyValue("method", method)
+            .lowCardinalityKeyValue("state", state)
+            .start();
+        try (Observation.Scope ignored = observation.openScope()) {
+            Object result = joinPoint.proceed();
+            observation.lowCardinalityKeyValue(KeyValue.of("outcome", SUCCESS));
+            return result;
+        } catch (Throwable exception) {
+            observation.lowCardinalityKeyValue(KeyValue.of("outcome", exception.getClass().getSimpleName()));
+            observation.error(exception);
+            throw exception;
+        } finally {
+            observation.stop();
+        }
+    }
+}
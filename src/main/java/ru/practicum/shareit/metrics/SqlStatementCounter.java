@@ -0,0 +1,38 @@
+package ru.practicum.shareit.metrics;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Counts SQL statements prepared by Hibernate for the request bound to the current thread.
+ * <p>
+ * The counter belongs to the request: {@link RequestMetricsFilter} stores it as the {@link #REQUEST_ATTRIBUTE}
+ * request attribute and binds it to the servlet thread, and {@link SqlStatementCountingInterceptor} binds the
+ * same counter to the thread that runs a {@code StreamingResponseBody} or {@code Callable}. Statements issued
+ * through R2DBC do not pass through Hibernate and are not counted.
+ */
+@Component
+public class SqlStatementCounter implements StatementInspector {
+    public static final String REQUEST_ATTRIBUTE = SqlStatementCounter.class.getName() + ".COUNTER";
+
+    private final ThreadLocal<AtomicInteger> statements = new ThreadLocal<>();
+
+    @Override
+    public String inspect(String sql) {
+        AtomicInteger counter = statements.get();
+        if (counter != null) {
+            counter.incrementAndGet();
+        }
+        return sql;
+    }
+
+    public void bind(AtomicInteger counter) {
+        statements.set(counter);
+    }
+
+    public void unbind() {
+        statements.remove();
+    }
+}
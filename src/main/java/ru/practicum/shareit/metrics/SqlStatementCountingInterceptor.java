@@ -0,0 +1,32 @@
+package ru.practicum.shareit.metrics;
+
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Component
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class SqlStatementCountingInterceptor implements CallableProcessingInterceptor {
+    final SqlStatementCounter sqlStatementCounter;
+
+    @Override
+    public <T> void preProcess(NativeWebRequest request, Callable<T> task) {
+        Object counter = request.getAttribute(SqlStatementCounter.REQUEST_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        if (counter instanceof AtomicInteger) {
+            sqlStatementCounter.bind((AtomicInteger) counter);
+        }
+    }
+
+    @Override
+    public <T> void postProcess(NativeWebRequest request, Callable<T> task, Object concurrentResult) {
+        sqlStatementCounter.unbind();
+    }
+}
@@ -0,0 +1,29 @@
+package ru.practicum.shareit.notification;
+
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import ru.practicum.shareit.user.UserService;
+
+@RestController
+@RequestMapping(path = "/notifications")
+@FieldDefaults(level = AccessLevel.PRIVATE)
+@RequiredArgsConstructor
+public class NotificationController {
+    static final String USER_ID_HEADER = "X-Sharer-User-Id";
+
+    final NotificationDispatcher notificationDispatcher;
+    final UserService userService;
+
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter subscribe(@RequestHeader(USER_ID_HEADER) long userId) {
+        userService.getUserById(userId);
+        return notificationDispatcher.subscribe(userId);
+    }
+}
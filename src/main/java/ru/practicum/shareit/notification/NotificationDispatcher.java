@@ -0,0 +1,189 @@
+package ru.practicum.shareit.notification;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.AccessLevel;
+import lombok.Value;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import ru.practicum.shareit.booking.dto.ResponseBookingDto;
+import ru.practicum.shareit.exceptions.ValidationException;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.notification.dto.NotificationDto;
+import ru.practicum.shareit.notification.model.NotificationType;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Slf4j
+@Component
+@EnableConfigurationProperties(NotificationProperties.class)
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class NotificationDispatcher implements SmartLifecycle {
+    static final String DROPPED_METRIC = "shareit.notifications.dropped";
+    static final String SUBSCRIBED_COMMENT = "subscribed";
+
+    final NotificationProperties properties;
+    final Executor executor;
+    final BlockingQueue<Notification> queue;
+    final Map<Long, Set<Subscriber>> subscribers = new ConcurrentHashMap<>();
+    final AtomicLong sequence = new AtomicLong();
+    final Counter publishedCounter;
+    final Counter queueFullCounter;
+    final Counter slowSubscriberCounter;
+    Thread worker;
+
+    public NotificationDispatcher(NotificationProperties properties,
+                                  @Qualifier("applicationTaskExecutor") Executor executor,
+                                  MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.executor = executor;
+        this.queue = new ArrayBlockingQueue<>(properties.getQueueCapacity());
+        this.publishedCounter = Counter.builder("shareit.notifications.published")
+            .description("Notifications accepted for delivery")
+            .register(meterRegistry);
+        this.queueFullCounter = Counter.builder(DROPPED_METRIC)
+            .description("Notifications or subscribers dropped instead of blocking")
+            .tag("reason", "queue_full")
+            .register(meterRegistry);
+        this.slowSubscriberCounter = Counter.builder(DROPPED_METRIC)
+            .description("Notifications or subscribers dropped instead of blocking")
+            .tag("reason", "slow_subscriber")
+            .register(meterRegistry);
+        Gauge.builder("shareit.notifications.queue.size", queue, Collection::size)
+            .description("Notifications waiting for the dispatcher")
+            .register(meterRegistry);
+        Gauge.builder("shareit.notifications.subscribers", subscribers,
+                map -> map.values().stream().mapToInt(Set::size).sum())
+            .description("Open notification subscriptions")
+            .register(meterRegistry);
+    }
+
+    public SseEmitter subscribe(long userId) {
+        return subscribe(userId, new SseEmitter(properties.getSubscriptionTimeout().toMillis()));
+    }
+
+    SseEmitter subscribe(long userId, SseEmitter emitter) {
+        Subscriber subscriber = new Subscriber(userId, emitter, properties.getSubscriberBufferSize(), executor);
+        emitter.onCompletion(() -> unsubscribe(subscriber));
+        emitter.onTimeout(() -> unsubscribe(subscriber));
+        emitter.onError(error -> unsubscribe(subscriber));
+        subscribers.compute(userId, (id, userSubscribers) -> {
+            Set<Subscriber> current = userSubscribers == null ? ConcurrentHashMap.newKeySet() : userSubscribers;
+            if (current.size() >= properties.getMaxSubscribersPerUser()) {
+                throw new ValidationException(String.format("User ID=%s already has %s notification subscriptions",
+                    userId, properties.getMaxSubscribersPerUser()));
+            }
+            current.add(subscriber);
+            return current;
+        });
+
+        try {
+            emitter.send(SseEmitter.event().comment(SUBSCRIBED_COMMENT));
+        } catch (IOException e) {
+            unsubscribe(subscriber);
+            throw new UncheckedIOException(e);
+        }
+        return emitter;
+    }
+
+    public void publish(long recipientId, NotificationType type, ResponseBookingDto booking, ItemDto item) {
+        if (!subscribers.containsKey(recipientId)) {
+            return;
+        }
+
+        NotificationDto notificationDto = new NotificationDto();
+        notificationDto.setId(sequence.incrementAndGet());
+        notificationDto.setType(type);
+        notificationDto.setCreated(LocalDateTime.now());
+        notificationDto.setBooking(booking);
+        notificationDto.setItem(item);
+        if (queue.offer(new Notification(recipientId, notificationDto))) {
+            publishedCounter.increment();
+        } else {
+            queueFullCounter.increment();
+        }
+    }
+
+    @Override
+    public synchronized void start() {
+        worker = new Thread(this::dispatch, "notification-dispatcher");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    @Override
+    public synchronized void stop() {
+        if (worker != null) {
+            worker.interrupt();
+            worker = null;
+        }
+        subscribers.values().forEach(userSubscribers -> userSubscribers.forEach(Subscriber::close));
+        subscribers.clear();
+    }
+
+    @Override
+    public synchronized boolean isRunning() {
+        return worker != null;
+    }
+
+    private void dispatch() {
+        List<Notification> batch = new ArrayList<>(properties.getBatchSize());
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                batch.add(queue.take());
+                queue.drainTo(batch, properties.getBatchSize() - 1);
+                deliver(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (RuntimeException e) {
+                log.error("Failed to deliver {} notifications", batch.size(), e);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void deliver(List<Notification> batch) {
+        Set<Subscriber> touched = new HashSet<>();
+        for (Notification notification : batch) {
+            for (Subscriber subscriber : subscribers.getOrDefault(notification.getRecipientId(), Set.of())) {
+                if (subscriber.offer(notification.getNotification())) {
+                    touched.add(subscriber);
+                } else if (!subscriber.isClosed()) {
+                    log.info("Dropping slow notification subscriber of user ID={}", subscriber.userId);
+                    slowSubscriberCounter.increment();
+                    unsubscribe(subscriber);
+                }
+            }
+        }
+        touched.forEach(Subscriber::flush);
+    }
+
+    private void unsubscribe(Subscriber subscriber) {
+        subscriber.close();
+        subscribers.computeIfPresent(subscriber.userId, (userId, userSubscribers) -> {
+            userSubscribers.remove(subscriber);
+            return userSubscribers.isEmpty() ? null : userSubscribers;
+        });
+    }
+
+    @Value
+    static class Notification {
+        long recipientId;
+        NotificationDto notification;
+    }
+}
@@ -0,0 +1,39 @@
+package ru.practicum.shareit.notification;
+
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import ru.practicum.shareit.booking.dto.ResponseBookingDto;
+import ru.practicum.shareit.booking.event.BookingChangedEvent;
+import ru.practicum.shareit.item.event.ItemRequestAnsweredEvent;
+import ru.practicum.shareit.notification.model.NotificationType;
+
+@Component
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class NotificationEventListener {
+    final NotificationDispatcher notificationDispatcher;
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookingChanged(BookingChangedEvent event) {
+        ResponseBookingDto booking = event.getBooking();
+        switch (booking.getStatus()) {
+            case WAITING -> notificationDispatcher.publish(event.getOwnerId(), NotificationType.BOOKING_REQUESTED,
+                booking, null);
+            case APPROVED -> notificationDispatcher.publish(booking.getBooker().getId(),
+                NotificationType.BOOKING_APPROVED, booking, null);
+            case REJECTED -> notificationDispatcher.publish(booking.getBooker().getId(),
+                NotificationType.BOOKING_REJECTED, booking, null);
+            case CANCELED -> notificationDispatcher.publish(event.getOwnerId(), NotificationType.BOOKING_CANCELED,
+                booking, null);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onItemRequestAnswered(ItemRequestAnsweredEvent event) {
+        notificationDispatcher.publish(event.getRequestorId(), NotificationType.ITEM_REQUEST_ANSWERED, null,
+            event.getItem());
+    }
+}
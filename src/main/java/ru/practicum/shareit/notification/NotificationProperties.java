@@ -0,0 +1,19 @@
+package ru.practicum.shareit.notification;
+
+import lombok.AccessLevel;
+import lombok.Data;
+import lombok.experimental.FieldDefaults;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@FieldDefaults(level = AccessLevel.PRIVATE)
+@ConfigurationProperties("shareit.notifications")
+public class NotificationProperties {
+    int queueCapacity = 10_000;
+    int batchSize = 100;
+    int subscriberBufferSize = 256;
+    int maxSubscribersPerUser = 4;
+    Duration subscriptionTimeout = Duration.ofMinutes(30);
+}
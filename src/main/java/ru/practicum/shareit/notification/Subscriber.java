@@ -0,0 +1,92 @@
+package ru.practicum.shareit.notification;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import ru.practicum.shareit.notification.dto.NotificationDto;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Buffers notifications of one SSE subscription and writes them from an executor task, so a slow client
+ * never holds up the dispatcher. The emitter is only ever sent to or completed by that task: {@link #close()}
+ * marks the subscriber and schedules a drain, which completes the emitter once any running send returns.
+ */
+@Slf4j
+class Subscriber {
+    final long userId;
+    final SseEmitter emitter;
+    private final BlockingQueue<NotificationDto> buffer;
+    private final Executor executor;
+    private final AtomicBoolean draining = new AtomicBoolean();
+    private final AtomicBoolean completed = new AtomicBoolean();
+    private volatile boolean closed;
+
+    Subscriber(long userId, SseEmitter emitter, int bufferSize, Executor executor) {
+        this.userId = userId;
+        this.emitter = emitter;
+        this.buffer = new ArrayBlockingQueue<>(bufferSize);
+        this.executor = executor;
+    }
+
+    boolean offer(NotificationDto notification) {
+        return !closed && buffer.offer(notification);
+    }
+
+    void flush() {
+        boolean pending = closed ? !completed.get() : !buffer.isEmpty();
+        if (pending && draining.compareAndSet(false, true)) {
+            try {
+                executor.execute(this::drain);
+            } catch (RejectedExecutionException e) {
+                log.debug("Leaving notification subscriber of user ID={} to its timeout: {}", userId,
+                    e.getMessage());
+                draining.set(false);
+            }
+        }
+    }
+
+    void close() {
+        closed = true;
+        buffer.clear();
+        flush();
+    }
+
+    boolean isClosed() {
+        return closed;
+    }
+
+    private void drain() {
+        try {
+            List<NotificationDto> batch = new ArrayList<>();
+            while (!closed && buffer.drainTo(batch) > 0) {
+                for (NotificationDto notification : batch) {
+                    emitter.send(SseEmitter.event()
+                        .id(String.valueOf(notification.getId()))
+                        .name(notification.getType().name())
+                        .data(notification, MediaType.APPLICATION_JSON));
+                }
+                batch.clear();
+            }
+            if (closed && completed.compareAndSet(false, true)) {
+                emitter.complete();
+            }
+        } catch (IOException | IllegalStateException e) {
+            log.debug("Dropping notification subscriber of user ID={}: {}", userId, e.getMessage());
+            close();
+            if (completed.compareAndSet(false, true)) {
+                emitter.completeWithError(e);
+            }
+        } finally {
+            draining.set(false);
+        }
+        flush();
+    }
+}
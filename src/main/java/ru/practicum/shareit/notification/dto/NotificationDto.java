@@ -0,0 +1,20 @@
+package ru.practicum.shareit.notification.dto;
+
+import lombok.AccessLevel;
+import lombok.Data;
+import lombok.experimental.FieldDefaults;
+import ru.practicum.shareit.booking.dto.ResponseBookingDto;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.notification.model.NotificationType;
+
+import java.time.LocalDateTime;
+
+@Data
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class NotificationDto {
+    long id;
+    NotificationType type;
+    LocalDateTime created;
+    ResponseBookingDto booking;
+    ItemDto item;
+}
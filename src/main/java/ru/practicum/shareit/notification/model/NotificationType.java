@@ -0,0 +1,9 @@
+package ru.practicum.shareit.notification.model;
+
+public enum NotificationType {
+    BOOKING_REQUESTED,
+    BOOKING_APPROVED,
+    BOOKING_REJECTED,
+    BOOKING_CANCELED,
+    ITEM_REQUEST_ANSWERED
+}
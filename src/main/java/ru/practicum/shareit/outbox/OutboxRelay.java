@@ -0,0 +1,71 @@
+package ru.practicum.shareit.outbox;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.outbox.mappers.OutboxMapper;
+import ru.practicum.shareit.outbox.model.OutboxMessage;
+import ru.practicum.shareit.outbox.sink.OutboxSink;
+
+import java.util.List;
+import java.util.Objects;
+
+@Slf4j
+@Component
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class OutboxRelay {
+    final OutboxRepository outboxRepository;
+    final OutboxSink outboxSink;
+    final TransactionTemplate transactionTemplate;
+    final int batchSize;
+    final Counter relayedCounter;
+    final Counter failureCounter;
+
+    public OutboxRelay(OutboxRepository outboxRepository, OutboxSink outboxSink,
+                       PlatformTransactionManager transactionManager,
+                       @Value("${shareit.outbox.batch-size:100}") int batchSize, MeterRegistry meterRegistry) {
+        this.outboxRepository = outboxRepository;
+        this.outboxSink = outboxSink;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.relayedCounter = Counter.builder("shareit.outbox.relayed")
+            .description("Outbox messages handed to the sink")
+            .register(meterRegistry);
+        this.failureCounter = Counter.builder("shareit.outbox.failures")
+            .description("Outbox batches rolled back because the sink failed")
+            .register(meterRegistry);
+    }
+
+    @Scheduled(initialDelayString = "${shareit.outbox.poll-interval:PT1S}",
+        fixedDelayString = "${shareit.outbox.poll-interval:PT1S}")
+    public void relay() {
+        try {
+            int relayed;
+            do {
+                relayed = Objects.requireNonNull(transactionTemplate.execute(status -> relayBatch()));
+            } while (relayed == batchSize);
+        } catch (RuntimeException e) {
+            failureCounter.increment();
+            log.warn("Outbox relay failed, will retry: {}", e.getMessage());
+        }
+    }
+
+    private int relayBatch() {
+        List<OutboxMessage> batch = outboxRepository.findByOrderByIdAsc(Limit.of(batchSize));
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        outboxSink.publish(batch.stream().map(OutboxMapper::mapToOutboxMessageDto).toList());
+        outboxRepository.deleteAllInBatch(batch);
+        relayedCounter.increment(batch.size());
+        return batch.size();
+    }
+}
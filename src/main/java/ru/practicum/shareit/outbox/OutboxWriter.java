@@ -0,0 +1,36 @@
+package ru.practicum.shareit.outbox;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import ru.practicum.shareit.booking.dto.ResponseBookingDto;
+import ru.practicum.shareit.booking.event.BookingChangedEvent;
+import ru.practicum.shareit.outbox.mappers.OutboxMapper;
+
+import java.io.UncheckedIOException;
+
+@Component
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class OutboxWriter {
+    static final String BOOKING_AGGREGATE = "BOOKING";
+
+    final OutboxRepository outboxRepository;
+    final ObjectMapper objectMapper;
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void onBookingChanged(BookingChangedEvent event) {
+        ResponseBookingDto booking = event.getBooking();
+        try {
+            outboxRepository.save(OutboxMapper.mapToOutboxMessage(BOOKING_AGGREGATE, booking.getId(),
+                BOOKING_AGGREGATE + "_" + booking.getStatus().name(), objectMapper.writeValueAsString(booking)));
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
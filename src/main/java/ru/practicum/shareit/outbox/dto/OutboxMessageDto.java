@@ -0,0 +1,18 @@
+package ru.practicum.shareit.outbox.dto;
+
+import lombok.AccessLevel;
+import lombok.Data;
+import lombok.experimental.FieldDefaults;
+
+import java.time.LocalDateTime;
+
+@Data
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class OutboxMessageDto {
+    Long id;
+    String aggregateType;
+    Long aggregateId;
+    String eventType;
+    String payload;
+    LocalDateTime created;
+}
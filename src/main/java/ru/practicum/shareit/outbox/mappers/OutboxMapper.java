@@ -0,0 +1,29 @@
+package ru.practicum.shareit.outbox.mappers;
+
+import lombok.experimental.UtilityClass;
+import ru.practicum.shareit.outbox.dto.OutboxMessageDto;
+import ru.practicum.shareit.outbox.model.OutboxMessage;
+
+@UtilityClass
+public class OutboxMapper {
+    public OutboxMessage mapToOutboxMessage(String aggregateType, long aggregateId, String eventType,
+                                            String payload) {
+        OutboxMessage outboxMessage = new OutboxMessage();
+        outboxMessage.setAggregateType(aggregateType);
+        outboxMessage.setAggregateId(aggregateId);
+        outboxMessage.setEventType(eventType);
+        outboxMessage.setPayload(payload);
+        return outboxMessage;
+    }
+
+    public OutboxMessageDto mapToOutboxMessageDto(OutboxMessage outboxMessage) {
+        OutboxMessageDto outboxMessageDto = new OutboxMessageDto();
+        outboxMessageDto.setId(outboxMessage.getId());
+        outboxMessageDto.setAggregateType(outboxMessage.getAggregateType());
+        outboxMessageDto.setAggregateId(outboxMessage.getAggregateId());
+        outboxMessageDto.setEventType(outboxMessage.getEventType());
+        outboxMessageDto.setPayload(outboxMessage.getPayload());
+        outboxMessageDto.setCreated(outboxMessage.getCreated());
+        return outboxMessageDto;
+    }
+}
@@ -0,0 +1,30 @@
+package ru.practicum.shareit.outbox.model;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.experimental.FieldDefaults;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Setter
+@Entity
+@Table(name = "outbox")
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class OutboxMessage {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "outbox_seq")
+    @SequenceGenerator(name = "outbox_seq", sequenceName = "outbox_seq", allocationSize = 50)
+    Long id;
+    @Column(name = "aggregate_type")
+    String aggregateType;
+    @Column(name = "aggregate_id")
+    Long aggregateId;
+    @Column(name = "event_type")
+    String eventType;
+    @Column(name = "payload")
+    String payload;
+    LocalDateTime created = LocalDateTime.now();
+}
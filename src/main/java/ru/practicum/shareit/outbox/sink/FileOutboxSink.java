@@ -0,0 +1,44 @@
+package ru.practicum.shareit.outbox.sink;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.outbox.dto.OutboxMessageDto;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+@Component
+@ConditionalOnProperty(name = OutboxSink.SINK_PROPERTY, havingValue = "file")
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class FileOutboxSink implements OutboxSink {
+    final Path path;
+    final ObjectMapper objectMapper;
+
+    public FileOutboxSink(@Value("${shareit.outbox.file}") Path path, ObjectMapper objectMapper) {
+        this.path = path;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public synchronized void publish(List<OutboxMessageDto> messages) {
+        try {
+            List<String> lines = new ArrayList<>(messages.size());
+            for (OutboxMessageDto message : messages) {
+                lines.add(objectMapper.writeValueAsString(message));
+            }
+            Files.write(path, lines, StandardOpenOption.CREATE, StandardOpenOption.APPEND,
+                StandardOpenOption.WRITE, StandardOpenOption.DSYNC);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package ru.practicum.shareit.outbox.sink;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.outbox.dto.OutboxMessageDto;
+
+import java.util.List;
+
+@Slf4j
+@Component
+@ConditionalOnProperty(name = OutboxSink.SINK_PROPERTY, havingValue = "log", matchIfMissing = true)
+public class LoggingOutboxSink implements OutboxSink {
+    @Override
+    public void publish(List<OutboxMessageDto> messages) {
+        messages.forEach(message -> log.info("Outbox message ID={} {} {} ID={}: {}", message.getId(),
+            message.getEventType(), message.getAggregateType(), message.getAggregateId(), message.getPayload()));
+    }
+}
@@ -0,0 +1,11 @@
+package ru.practicum.shareit.outbox.sink;
+
+import ru.practicum.shareit.outbox.dto.OutboxMessageDto;
+
+import java.util.List;
+
+public interface OutboxSink {
+    String SINK_PROPERTY = "shareit.outbox.sink";
+
+    void publish(List<OutboxMessageDto> messages);
+}
@@ -0,0 +1,120 @@
+package ru.practicum.shareit.pagination;
+
+import lombok.experimental.UtilityClass;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
+import org.springframework.util.DigestUtils;
+import ru.practicum.shareit.exceptions.ValidationException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+@UtilityClass
+public class KeysetCursor {
+    public static final int MAX_PAGE_SIZE = 100;
+
+    private static final String KEY_SEPARATOR = "&";
+    private static final String VALUE_SEPARATOR = "=";
+    private static final String TIME_TAG = "t:";
+    private static final String NUMBER_TAG = "n:";
+
+    public Limit limit(int size) {
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new ValidationException(String.format("Page size must be between 1 and %s", MAX_PAGE_SIZE));
+        }
+        return Limit.of(size);
+    }
+
+    public ScrollPosition decode(String cursor, List<String> keyNames) {
+        if (cursor == null || cursor.isBlank()) {
+            return ScrollPosition.keyset();
+        }
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = decoded.split(KEY_SEPARATOR);
+            if (parts.length != keyNames.size()) {
+                throw new ValidationException("Invalid cursor");
+            }
+            Map<String, String> values = new HashMap<>();
+            for (String part : parts) {
+                String[] pair = part.split(VALUE_SEPARATOR, 2);
+                if (pair.length != 2) {
+                    throw new ValidationException("Invalid cursor");
+                }
+                values.put(pair[0], pair[1]);
+            }
+            if (!values.keySet().containsAll(keyNames)) {
+                throw new ValidationException("Invalid cursor");
+            }
+            Map<String, Object> keys = new LinkedHashMap<>();
+            for (String keyName : keyNames) {
+                keys.put(keyName, decodeValue(values.get(keyName)));
+            }
+            return ScrollPosition.forward(keys);
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new ValidationException("Invalid cursor");
+        }
+    }
+
+    public String encode(ScrollPosition position) {
+        if (!(position instanceof KeysetScrollPosition keysetPosition)) {
+            throw new IllegalArgumentException("Only keyset positions can be encoded");
+        }
+        StringBuilder builder = new StringBuilder();
+        keysetPosition.getKeys().forEach((name, value) -> {
+            if (!builder.isEmpty()) {
+                builder.append(KEY_SEPARATOR);
+            }
+            builder.append(name).append(VALUE_SEPARATOR).append(encodeValue(value));
+        });
+        return Base64.getUrlEncoder().withoutPadding()
+            .encodeToString(builder.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    public Object key(ScrollPosition position, String name) {
+        return position instanceof KeysetScrollPosition keysetPosition ? keysetPosition.getKeys().get(name) : null;
+    }
+
+    public String tag(ScrollPosition position, WindowVersion version) {
+        String window = String.format("%s/%d/%d/%d/%d", position.isInitial() ? "" : encode(position),
+            version.getRowCount(), version.getLastId(), version.getMaxVersion(), version.getVersionSum());
+        return DigestUtils.md5DigestAsHex(window.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public <T, R> CursorPage<R> toPage(Window<T> window, Function<? super T, ? extends R> mapper) {
+        List<R> content = window.stream().<R>map(mapper).toList();
+        String nextCursor = window.hasNext() && !window.isEmpty()
+            ? encode(window.positionAt(window.size() - 1))
+            : null;
+        return new CursorPage<>(content, nextCursor);
+    }
+
+    private String encodeValue(Object value) {
+        if (value instanceof LocalDateTime time) {
+            return TIME_TAG + time;
+        }
+        if (value instanceof Number number) {
+            return NUMBER_TAG + number.longValue();
+        }
+        throw new IllegalArgumentException("Unsupported cursor key type " + value.getClass().getName());
+    }
+
+    private Object decodeValue(String value) {
+        if (value.startsWith(TIME_TAG)) {
+            return LocalDateTime.parse(value.substring(TIME_TAG.length()));
+        }
+        if (value.startsWith(NUMBER_TAG)) {
+            return Long.parseLong(value.substring(NUMBER_TAG.length()));
+        }
+        throw new IllegalArgumentException("Unsupported cursor value " + value);
+    }
+}
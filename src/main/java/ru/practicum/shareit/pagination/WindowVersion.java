@@ -0,0 +1,22 @@
+package ru.practicum.shareit.pagination;
+
+/**
+ * Aggregate over one keyset window, read by native queries whose inner select returns the window rows as
+ * {@code id}, {@code version} and their 1-based {@code rn} in page order, fetched with a limit of page size + 1.
+ * Only the first {@code size} rows feed the versions; the extra row only shows up in the row count, which is
+ * what decides whether the page has a next cursor.
+ */
+public interface WindowVersion {
+    String AGGREGATE = "select count(*) as rowCount, " +
+        "coalesce(max(case when w.rn <= :size then w.id end), 0) as lastId, " +
+        "coalesce(max(case when w.rn <= :size then w.version end), 0) as maxVersion, " +
+        "coalesce(sum(case when w.rn <= :size then w.version end), 0) as versionSum ";
+
+    Long getRowCount();
+
+    Long getLastId();
+
+    Long getMaxVersion();
+
+    Long getVersionSum();
+}
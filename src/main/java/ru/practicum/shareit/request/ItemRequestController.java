@@ -1,9 +1,55 @@
 package ru.practicum.shareit.request;
 
-import org.springframework.web.bind.annotation.RequestMapping;
-import org.springframework.web.bind.annotation.RestController;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+import ru.practicum.shareit.pagination.CursorPage;
+import ru.practicum.shareit.request.dto.RequestItemRequestDto;
+import ru.practicum.shareit.request.dto.ResponseItemRequestDto;
+
+import java.util.List;
 
 @RestController
 @RequestMapping(path = "/requests")
+@FieldDefaults(level = AccessLevel.PRIVATE)
+@RequiredArgsConstructor
 public class ItemRequestController {
+    static final String USER_ID_HEADER = "X-Sharer-User-Id";
+    static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    static final String DEFAULT_PAGE_SIZE = "20";
+
+    final ItemRequestService itemRequestService;
+
+    @PostMapping
+    public ResponseItemRequestDto createRequest(@RequestHeader(USER_ID_HEADER) long userId,
+                                                @Validated @RequestBody RequestItemRequestDto requestItemRequestDto) {
+        return itemRequestService.createRequest(userId, requestItemRequestDto);
+    }
+
+    @GetMapping
+    public List<ResponseItemRequestDto> getOwnRequests(@RequestHeader(USER_ID_HEADER) long userId) {
+        return itemRequestService.getOwnRequests(userId);
+    }
+
+    @GetMapping("/all")
+    public ResponseEntity<List<ResponseItemRequestDto>> getAllRequests(
+        @RequestHeader(USER_ID_HEADER) long userId,
+        @RequestParam(required = false) String cursor,
+        @RequestParam(required = false, defaultValue = DEFAULT_PAGE_SIZE) int size) {
+        CursorPage<ResponseItemRequestDto> page = itemRequestService.getAllRequests(userId, cursor, size);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.getNextCursor() != null) {
+            response.header(NEXT_CURSOR_HEADER, page.getNextCursor());
+        }
+        return response.body(page.getContent());
+    }
+
+    @GetMapping("/{requestId}")
+    public ResponseItemRequestDto getRequestById(@RequestHeader(USER_ID_HEADER) long userId,
+                                                 @PathVariable long requestId) {
+        return itemRequestService.getRequestById(userId, requestId);
+    }
 }
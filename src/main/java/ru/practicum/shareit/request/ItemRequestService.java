@@ -0,0 +1,17 @@
+package ru.practicum.shareit.request;
+
+import ru.practicum.shareit.pagination.CursorPage;
+import ru.practicum.shareit.request.dto.RequestItemRequestDto;
+import ru.practicum.shareit.request.dto.ResponseItemRequestDto;
+
+import java.util.List;
+
+public interface ItemRequestService {
+    ResponseItemRequestDto createRequest(long userId, RequestItemRequestDto requestItemRequestDto);
+
+    List<ResponseItemRequestDto> getOwnRequests(long userId);
+
+    CursorPage<ResponseItemRequestDto> getAllRequests(long userId, String cursor, int size);
+
+    ResponseItemRequestDto getRequestById(long userId, long requestId);
+}
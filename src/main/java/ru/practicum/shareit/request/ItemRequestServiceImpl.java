@@ -0,0 +1,96 @@
+package ru.practicum.shareit.request;
+
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.exceptions.NotFoundException;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.pagination.CursorPage;
+import ru.practicum.shareit.pagination.KeysetCursor;
+import ru.practicum.shareit.request.dto.ItemAnswerDto;
+import ru.practicum.shareit.request.dto.RequestItemRequestDto;
+import ru.practicum.shareit.request.dto.ResponseItemRequestDto;
+import ru.practicum.shareit.request.mappers.ItemRequestMapper;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.user.UserCache;
+import ru.practicum.shareit.user.UserRepository;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class ItemRequestServiceImpl implements ItemRequestService {
+    static final List<String> CURSOR_KEYS = List.of("created", "id");
+
+    final ItemRequestRepository itemRequestRepository;
+    final ItemRepository itemRepository;
+    final UserRepository userRepository;
+    final UserCache userCache;
+
+    @Override
+    @Transactional
+    public ResponseItemRequestDto createRequest(long userId, RequestItemRequestDto requestItemRequestDto) {
+        checkUserExists(userId);
+
+        ItemRequest itemRequest = itemRequestRepository.save(
+            ItemRequestMapper.mapToItemRequest(requestItemRequestDto, userRepository.getReferenceById(userId)));
+        return ItemRequestMapper.mapToResponseItemRequestDto(itemRequest, Collections.emptyList());
+    }
+
+    @Override
+    public List<ResponseItemRequestDto> getOwnRequests(long userId) {
+        checkUserExists(userId);
+        return withItems(itemRequestRepository.findByRequestorIdOrderByCreatedDescIdDesc(userId));
+    }
+
+    @Override
+    public CursorPage<ResponseItemRequestDto> getAllRequests(long userId, String cursor, int size) {
+        checkUserExists(userId);
+        final Limit limit = KeysetCursor.limit(size);
+        final ScrollPosition position = KeysetCursor.decode(cursor, CURSOR_KEYS);
+
+        Window<ItemRequest> requests = itemRequestRepository.findByRequestorIdNotOrderByCreatedDescIdDesc(userId,
+            position, limit);
+        CursorPage<ItemRequest> page = KeysetCursor.toPage(requests, itemRequest -> itemRequest);
+        return new CursorPage<>(withItems(page.getContent()), page.getNextCursor());
+    }
+
+    @Override
+    public ResponseItemRequestDto getRequestById(long userId, long requestId) {
+        checkUserExists(userId);
+        ItemRequest itemRequest = itemRequestRepository.findById(requestId)
+            .orElseThrow(() -> new NotFoundException(String.format("Request ID=%s not found", requestId)));
+        return withItems(List.of(itemRequest)).get(0);
+    }
+
+    private List<ResponseItemRequestDto> withItems(List<ItemRequest> itemRequests) {
+        if (itemRequests.isEmpty()) {
+            return Collections.emptyList();
+        }
+        List<Long> requestIds = itemRequests.stream().map(ItemRequest::getId).toList();
+        Map<Long, List<ItemAnswerDto>> answers = itemRepository.findAllByRequestIdIn(requestIds).stream()
+            .collect(Collectors.groupingBy(item -> item.getRequest().getId(),
+                Collectors.mapping(ItemRequestMapper::mapToItemAnswerDto, Collectors.toList())));
+
+        return itemRequests.stream()
+            .map(itemRequest -> ItemRequestMapper.mapToResponseItemRequestDto(itemRequest,
+                answers.getOrDefault(itemRequest.getId(), Collections.emptyList())))
+            .toList();
+    }
+
+    private void checkUserExists(long userId) {
+        if (userCache.findById(userId).isEmpty()) {
+            throw new NotFoundException(String.format("User ID=%s not found", userId));
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package ru.practicum.shareit.request.dto;
+
+import lombok.AccessLevel;
+import lombok.Data;
+import lombok.experimental.FieldDefaults;
+
+@Data
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class ItemAnswerDto {
+    Long id;
+    String name;
+    Long ownerId;
+}
@@ -0,0 +1,38 @@
+package ru.practicum.shareit.request.mappers;
+
+import lombok.experimental.UtilityClass;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.request.dto.ItemAnswerDto;
+import ru.practicum.shareit.request.dto.RequestItemRequestDto;
+import ru.practicum.shareit.request.dto.ResponseItemRequestDto;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.user.model.User;
+
+import java.util.List;
+
+@UtilityClass
+public class ItemRequestMapper {
+    public ItemRequest mapToItemRequest(RequestItemRequestDto requestItemRequestDto, User requestor) {
+        ItemRequest itemRequest = new ItemRequest();
+        itemRequest.setDescription(requestItemRequestDto.getDescription());
+        itemRequest.setRequestor(requestor);
+        return itemRequest;
+    }
+
+    public ResponseItemRequestDto mapToResponseItemRequestDto(ItemRequest itemRequest, List<ItemAnswerDto> items) {
+        ResponseItemRequestDto responseItemRequestDto = new ResponseItemRequestDto();
+        responseItemRequestDto.setId(itemRequest.getId());
+        responseItemRequestDto.setDescription(itemRequest.getDescription());
+        responseItemRequestDto.setCreated(itemRequest.getCreated());
+        responseItemRequestDto.setItems(items);
+        return responseItemRequestDto;
+    }
+
+    public ItemAnswerDto mapToItemAnswerDto(Item item) {
+        ItemAnswerDto itemAnswerDto = new ItemAnswerDto();
+        itemAnswerDto.setId(item.getId());
+        itemAnswerDto.setName(item.getName());
+        itemAnswerDto.setOwnerId(item.getOwner().getId());
+        return itemAnswerDto;
+    }
+}
@@ -1,17 +1,28 @@
 package ru.practicum.shareit.request.model;
 
+import jakarta.persistence.*;
 import lombok.AccessLevel;
-import lombok.Data;
+import lombok.Getter;
+import lombok.Setter;
 import lombok.experimental.FieldDefaults;
 import ru.practicum.shareit.user.model.User;
 
 import java.time.LocalDateTime;
 
-@Data
+@Getter
+@Setter
+@Entity
+@Table(name = "requests")
 @FieldDefaults(level = AccessLevel.PRIVATE)
 public class ItemRequest {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "requests_seq")
+    @SequenceGenerator(name = "requests_seq", sequenceName = "requests_seq", allocationSize = 50)
     Long id;
+    @Column(name = "description")
     String description;
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "requestor_id")
     User requestor;
-    LocalDateTime created;
+    LocalDateTime created = LocalDateTime.now();
 }
@@ -0,0 +1,31 @@
+package ru.practicum.shareit.user;
+
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.user.dto.UserSnapshot;
+import ru.practicum.shareit.user.mappers.UserMapper;
+
+import java.util.Optional;
+
+/**
+ * Read-through cache of immutable user snapshots. Entities never leave the persistence context that loaded
+ * them; callers that need to reference a user from a new entity use {@code getReferenceById}.
+ */
+@Component
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class UserCache {
+    public static final String CACHE_NAME = "users";
+
+    final UserRepository userRepository;
+
+    @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CACHE_NAME, unless = "#result == null")
+    public Optional<UserSnapshot> findById(long id) {
+        return userRepository.findById(id).map(UserMapper::mapToUserSnapshot);
+    }
+}
@@ -1,7 +1,35 @@
 package ru.practicum.shareit.user;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import ru.practicum.shareit.pagination.WindowVersion;
 import ru.practicum.shareit.user.model.User;
 
+import java.util.stream.Stream;
+
 public interface UserRepository extends JpaRepository<User, Long> {
+    String EXPORT_FETCH_SIZE = "500";
+
+    Window<User> findByNameStartingWithAndEmailStartingWithOrderByIdAsc(String name, String email,
+                                                                       ScrollPosition position, Limit limit);
+
+    @Query(value = WindowVersion.AGGREGATE + "from (select u.id as id, u.version as version, " +
+        "row_number() over (order by u.id) as rn from users u " +
+        "where u.name like :name escape '\\' and u.email like :email escape '\\' and u.id > :afterId " +
+        "order by u.id limit :size + 1) w", nativeQuery = true)
+    WindowVersion findWindowVersion(@Param("name") String namePattern, @Param("email") String emailPattern,
+                                    @Param("afterId") long afterId, @Param("size") int size);
+
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<User> streamAllByNameStartingWithAndEmailStartingWithOrderByIdAsc(String name, String email);
 }
@@ -1,11 +1,16 @@
 package ru.practicum.shareit.user;
 
+import ru.practicum.shareit.pagination.CursorPage;
 import ru.practicum.shareit.user.dto.UserDto;
 
-import java.util.List;
+import java.util.function.Consumer;
 
 public interface UserService {
-    List<UserDto> getUsers();
+    CursorPage<UserDto> getUsers(String name, String email, String cursor, Integer size);
+
+    String getUsersTag(String name, String email, String cursor, Integer size);
+
+    void exportUsers(String name, String email, Consumer<UserDto> consumer);
 
     UserDto getUserById(long id);
 
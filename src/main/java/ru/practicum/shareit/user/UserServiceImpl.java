@@ -1,41 +1,102 @@
 package ru.practicum.shareit.user;
 
+import jakarta.persistence.EntityManager;
 import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
 import lombok.experimental.FieldDefaults;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.exceptions.NotFoundException;
+import ru.practicum.shareit.pagination.CursorPage;
+import ru.practicum.shareit.pagination.KeysetCursor;
+import ru.practicum.shareit.pagination.WindowVersion;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.mappers.UserMapper;
 import ru.practicum.shareit.user.model.User;
 
+import java.util.Iterator;
 import java.util.List;
+import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
+@Transactional(readOnly = true)
 @FieldDefaults(level = AccessLevel.PRIVATE)
 public class UserServiceImpl implements UserService {
+    static final List<String> CURSOR_KEYS = List.of("id");
+    static final int UNPAGED_LIMIT = 1_000;
+    static final int EXPORT_CLEAR_INTERVAL = 500;
+
     final UserRepository userRepository;
+    final UserCache userCache;
+    final EntityManager entityManager;
+
+    @Override
+    public CursorPage<UserDto> getUsers(String name, String email, String cursor, Integer size) {
+        final ScrollPosition position = KeysetCursor.decode(cursor, CURSOR_KEYS);
+
+        Window<User> users = userRepository.findByNameStartingWithAndEmailStartingWithOrderByIdAsc(
+            Objects.requireNonNullElse(name, ""), Objects.requireNonNullElse(email, ""), position, limit(size));
+        return KeysetCursor.toPage(users, UserMapper::mapToUserDto);
+    }
+
+    @Override
+    public String getUsersTag(String name, String email, String cursor, Integer size) {
+        final ScrollPosition position = KeysetCursor.decode(cursor, CURSOR_KEYS);
+        final Object afterId = KeysetCursor.key(position, "id");
+
+        WindowVersion version = userRepository.findWindowVersion(likePrefix(name), likePrefix(email),
+            afterId == null ? 0 : (Long) afterId, limit(size).max());
+        return KeysetCursor.tag(position, version);
+    }
+
+    private static String likePrefix(String prefix) {
+        return Objects.requireNonNullElse(prefix, "").replace("\\", "\\\\").replace("%", "\\%")
+            .replace("_", "\\_") + "%";
+    }
+
+    private Limit limit(Integer size) {
+        return size == null ? Limit.of(UNPAGED_LIMIT) : KeysetCursor.limit(size);
+    }
 
     @Override
-    public List<UserDto> getUsers() {
-        return userRepository.findAll().stream().map(UserMapper::mapToUserDto).toList();
+    public void exportUsers(String name, String email, Consumer<UserDto> consumer) {
+        try (Stream<User> users = userRepository.streamAllByNameStartingWithAndEmailStartingWithOrderByIdAsc(
+            Objects.requireNonNullElse(name, ""), Objects.requireNonNullElse(email, ""))) {
+            Iterator<User> iterator = users.iterator();
+            int exported = 0;
+            while (iterator.hasNext()) {
+                consumer.accept(UserMapper.mapToUserDto(iterator.next()));
+                if (++exported % EXPORT_CLEAR_INTERVAL == 0) {
+                    entityManager.clear();
+                }
+            }
+        }
     }
 
     @Override
     public UserDto getUserById(long id) {
-        return userRepository.findById(id)
+        return userCache.findById(id)
             .map(UserMapper::mapToUserDto)
             .orElseThrow(() -> new NotFoundException(String.format("User ID=%s not found", id)));
     }
 
     @Override
+    @Transactional
     public UserDto createUser(UserDto userDto) {
         User user = userRepository.save(UserMapper.mapToUser(userDto));
         return UserMapper.mapToUserDto(user);
     }
 
     @Override
+    @Transactional
+    @CacheEvict(cacheNames = UserCache.CACHE_NAME, key = "#userDto.id")
     public UserDto updateUser(UserDto userDto) {
         final User oldUser = userRepository.findById(userDto.getId())
             .orElseThrow(() -> new NotFoundException(String.format("User ID=%s not found", userDto.getId())));
@@ -53,6 +114,8 @@ public class UserServiceImpl implements UserService {
     }
 
     @Override
+    @Transactional
+    @CacheEvict(cacheNames = UserCache.CACHE_NAME, key = "#id")
     public UserDto deleteUser(long id) {
         User user = userRepository.findById(id).orElseThrow(() -> new NotFoundException(""));
         userRepository.delete(user);
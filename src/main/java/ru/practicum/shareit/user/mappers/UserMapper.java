@@ -2,13 +2,16 @@ package ru.practicum.shareit.user.mappers;
 
 import lombok.experimental.UtilityClass;
 import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.dto.UserSnapshot;
 import ru.practicum.shareit.user.model.User;
 
 @UtilityClass
 public class UserMapper {
     public User mapToUser(UserDto userDto) {
         User user = new User();
-        user.setId(userDto.getId());
+        if (userDto.getId() != 0) {
+            user.setId(userDto.getId());
+        }
         user.setName(userDto.getName());
         user.setEmail(userDto.getEmail());
         return user;
@@ -21,4 +24,16 @@ public class UserMapper {
         userDto.setEmail(user.getEmail());
         return userDto;
     }
+
+    public UserDto mapToUserDto(UserSnapshot userSnapshot) {
+        UserDto userDto = new UserDto();
+        userDto.setId(userSnapshot.getId());
+        userDto.setName(userSnapshot.getName());
+        userDto.setEmail(userSnapshot.getEmail());
+        return userDto;
+    }
+
+    public UserSnapshot mapToUserSnapshot(User user) {
+        return new UserSnapshot(user.getId(), user.getName(), user.getEmail(), user.getVersion());
+    }
 }
@@ -0,0 +1,24 @@
+CREATE INDEX IF NOT EXISTS idx_items_search ON items
+    USING GIN (to_tsvector('simple', name || ' ' || description));
+
+CREATE INDEX IF NOT EXISTS idx_users_name_prefix ON users (name varchar_pattern_ops);
+
+CREATE INDEX IF NOT EXISTS idx_users_email_prefix ON users (email varchar_pattern_ops);
+
+SELECT setval('users_seq', (SELECT max(id) + 50 FROM users))
+WHERE (SELECT last_value FROM users_seq) < (SELECT coalesce(max(id), 0) FROM users);
+
+SELECT setval('requests_seq', (SELECT max(id) + 50 FROM requests))
+WHERE (SELECT last_value FROM requests_seq) < (SELECT coalesce(max(id), 0) FROM requests);
+
+SELECT setval('items_seq', (SELECT max(id) + 50 FROM items))
+WHERE (SELECT last_value FROM items_seq) < (SELECT coalesce(max(id), 0) FROM items);
+
+SELECT setval('bookings_seq', (SELECT max(id) + 50 FROM bookings))
+WHERE (SELECT last_value FROM bookings_seq) < (SELECT coalesce(max(id), 0) FROM bookings);
+
+SELECT setval('comments_seq', (SELECT max(id) + 50 FROM comments))
+WHERE (SELECT last_value FROM comments_seq) < (SELECT coalesce(max(id), 0) FROM comments);
+
+SELECT setval('outbox_seq', (SELECT max(id) + 50 FROM outbox))
+WHERE (SELECT last_value FROM outbox_seq) < (SELECT coalesce(max(id), 0) FROM outbox);
@@ -0,0 +1,176 @@
+package ru.practicum.shareit;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.BookingService;
+import ru.practicum.shareit.booking.dto.ResponseBookingDto;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.exceptions.NotFoundException;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.ItemService;
+import ru.practicum.shareit.item.dto.RequestCommentDto;
+import ru.practicum.shareit.item.dto.ResponseCommentDto;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.UserCache;
+import ru.practicum.shareit.user.UserRepository;
+import ru.practicum.shareit.user.UserService;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.dto.UserSnapshot;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static ru.practicum.shareit.TestFixtures.booking;
+import static ru.practicum.shareit.TestFixtures.bookingRequest;
+import static ru.practicum.shareit.TestFixtures.item;
+import static ru.practicum.shareit.TestFixtures.user;
+
+@SpringBootTest
+class CachingTests {
+    @Autowired
+    UserCache userCache;
+    @Autowired
+    UserService userService;
+    @Autowired
+    ItemService itemService;
+    @Autowired
+    BookingService bookingService;
+    @Autowired
+    BookingRepository bookingRepository;
+    @Autowired
+    UserRepository userRepository;
+    @Autowired
+    ItemRepository itemRepository;
+    @Autowired
+    CacheManager cacheManager;
+    @Autowired
+    TransactionTemplate transactionTemplate;
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
+
+    User owner;
+    Item item;
+    Cache users;
+
+    @BeforeEach
+    void setUp() {
+        owner = userRepository.save(user("owner"));
+        item = itemRepository.save(item(owner, "kayak"));
+        users = cacheManager.getCache(UserCache.CACHE_NAME);
+    }
+
+    @Test
+    void missLoadsOnceAndHitIsServedFromCache() {
+        Statistics statistics = statistics();
+
+        assertThat(userCache.findById(owner.getId())).isPresent();
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+
+        assertThat(userCache.findById(owner.getId())).isPresent();
+        assertThat(userService.getUserById(owner.getId()).getName()).isEqualTo(owner.getName());
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void cacheHoldsImmutableSnapshotsNotEntities() {
+        userCache.findById(owner.getId());
+
+        assertThat(users.get(owner.getId(), UserSnapshot.class))
+            .isEqualTo(new UserSnapshot(owner.getId(), owner.getName(), owner.getEmail(), owner.getVersion()));
+    }
+
+    @Test
+    void missingEntriesAreNotCached() {
+        assertThat(userCache.findById(Long.MAX_VALUE)).isEmpty();
+
+        assertThat(users.get(Long.MAX_VALUE)).isNull();
+    }
+
+    @Test
+    void userUpdateAndDeleteEvictTheEntry() {
+        userCache.findById(owner.getId());
+
+        UserDto update = new UserDto();
+        update.setId(owner.getId());
+        update.setName("renamed");
+        userService.updateUser(update);
+
+        assertThat(users.get(owner.getId())).isNull();
+        assertThat(userService.getUserById(owner.getId()).getName()).isEqualTo("renamed");
+        assertThat(users.get(owner.getId(), UserSnapshot.class).getVersion()).isEqualTo(owner.getVersion() + 1);
+
+        itemRepository.delete(item);
+        userService.deleteUser(owner.getId());
+
+        assertThat(users.get(owner.getId())).isNull();
+        assertThatThrownBy(() -> userService.getUserById(owner.getId())).isInstanceOf(NotFoundException.class);
+    }
+
+    @Test
+    void bookingAndCommentCreationReadTheBookerFromCache() {
+        User booker = userRepository.save(user("booker"));
+        LocalDateTime start = LocalDateTime.now().minusDays(2);
+        bookingRepository.save(booking(item, booker, start, start.plusDays(1), BookingStatus.APPROVED));
+        userCache.findById(booker.getId());
+        Statistics statistics = statistics();
+
+        ResponseBookingDto booking = bookingService.createBooking(booker.getId(), bookingRequest(item.getId(),
+            LocalDateTime.now().plusDays(1), LocalDateTime.now().plusDays(2)));
+        RequestCommentDto requestCommentDto = new RequestCommentDto();
+        requestCommentDto.setText("dry and stable");
+        ResponseCommentDto comment = itemService.createComment(booker.getId(), item.getId(), requestCommentDto);
+
+        assertThat(booking.getBooker().getName()).isEqualTo(booker.getName());
+        assertThat(comment.getAuthorName()).isEqualTo(booker.getName());
+        assertThat(statistics.getEntityStatistics(User.class.getName()).getLoadCount()).isZero();
+    }
+
+    @Test
+    void evictionWaitsForCommit() {
+        userCache.findById(owner.getId());
+
+        transactionTemplate.executeWithoutResult(status -> {
+            userService.updateUser(userDto(owner.getId(), "renamed"));
+            assertThat(users.get(owner.getId(), UserSnapshot.class).getName()).isEqualTo(owner.getName());
+        });
+
+        assertThat(users.get(owner.getId())).isNull();
+    }
+
+    @Test
+    void rolledBackUpdateKeepsTheEntry() {
+        userCache.findById(owner.getId());
+
+        transactionTemplate.executeWithoutResult(status -> {
+            userService.updateUser(userDto(owner.getId(), "renamed"));
+            status.setRollbackOnly();
+        });
+
+        assertThat(users.get(owner.getId(), UserSnapshot.class).getName()).isEqualTo(owner.getName());
+        assertThat(userRepository.findById(owner.getId())).map(User::getName).contains(owner.getName());
+    }
+
+    private UserDto userDto(long id, String name) {
+        UserDto userDto = new UserDto();
+        userDto.setId(id);
+        userDto.setName(name);
+        return userDto;
+    }
+
+    private Statistics statistics() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        return statistics;
+    }
+}
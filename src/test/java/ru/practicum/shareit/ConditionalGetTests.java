@@ -0,0 +1,228 @@
+package ru.practicum.shareit;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.booking.BookingService;
+import ru.practicum.shareit.booking.dto.RequestBookingDto;
+import ru.practicum.shareit.booking.dto.ResponseBookingDto;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.ItemService;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.UserRepository;
+import ru.practicum.shareit.user.UserService;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+import static ru.practicum.shareit.TestFixtures.bookingRequest;
+import static ru.practicum.shareit.TestFixtures.item;
+import static ru.practicum.shareit.TestFixtures.user;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class ConditionalGetTests {
+    static final String USER_ID_HEADER = "X-Sharer-User-Id";
+
+    @Autowired
+    MockMvc mockMvc;
+    @Autowired
+    ItemService itemService;
+    @Autowired
+    BookingService bookingService;
+    @Autowired
+    UserService userService;
+    @Autowired
+    ItemRepository itemRepository;
+    @Autowired
+    UserRepository userRepository;
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
+
+    String prefix;
+    User owner;
+    User booker;
+    Item item;
+
+    @BeforeEach
+    void setUp() {
+        prefix = "etag" + System.nanoTime();
+        owner = userRepository.save(user(prefix + "owner"));
+        booker = userRepository.save(user(prefix + "booker"));
+        item = itemRepository.save(item(owner, "drill"));
+    }
+
+    @Test
+    void itemIsNotModifiedUntilItChanges() throws Exception {
+        String path = "/items/" + item.getId();
+        String etag = etag(path, booker.getId());
+
+        mockMvc.perform(get(path).header(USER_ID_HEADER, booker.getId()).header(HttpHeaders.IF_NONE_MATCH, etag))
+            .andExpect(status().isNotModified())
+            .andExpect(content().string(""));
+
+        ItemDto itemDto = new ItemDto();
+        itemDto.setDescription("hammer drill");
+        itemService.updateItem(item.getId(), owner.getId(), itemDto);
+
+        mockMvc.perform(get(path).header(USER_ID_HEADER, booker.getId()).header(HttpHeaders.IF_NONE_MATCH, etag))
+            .andExpect(status().isOk());
+        assertThat(etag(path, booker.getId())).isNotEqualTo(etag);
+    }
+
+    @Test
+    void bookingTagFollowsReviewAndChecksAccess() throws Exception {
+        RequestBookingDto requestBookingDto = bookingRequest(item.getId(), LocalDateTime.now().plusDays(1),
+            LocalDateTime.now().plusDays(2));
+        ResponseBookingDto booking = bookingService.createBooking(booker.getId(), requestBookingDto);
+        String path = "/bookings/" + booking.getId();
+        String etag = etag(path, booker.getId());
+
+        assertThat(etag(path, owner.getId())).isEqualTo(etag);
+        mockMvc.perform(get(path).header(USER_ID_HEADER, booker.getId()).header(HttpHeaders.IF_NONE_MATCH, etag))
+            .andExpect(status().isNotModified());
+
+        bookingService.reviewBooking(owner.getId(), booking.getId(), true);
+
+        assertThat(etag(path, booker.getId())).isNotEqualTo(etag);
+        long strangerId = userRepository.save(user(prefix + "stranger")).getId();
+        mockMvc.perform(get(path).header(USER_ID_HEADER, strangerId).header(HttpHeaders.IF_NONE_MATCH, etag))
+            .andExpect(status().isForbidden());
+    }
+
+    @Test
+    void userListTagChangesWhenAnyMatchingUserChanges() throws Exception {
+        String path = "/users?name=" + prefix;
+        String etag = etag(path, owner.getId());
+
+        mockMvc.perform(get(path).header(HttpHeaders.IF_NONE_MATCH, etag))
+            .andExpect(status().isNotModified());
+
+        UserDto userDto = new UserDto();
+        userDto.setId(booker.getId());
+        userDto.setName(prefix + "renamed");
+        userService.updateUser(userDto);
+
+        assertThat(etag(path, owner.getId())).isNotEqualTo(etag);
+    }
+
+    @Test
+    void itemBodyAndTagFollowChangesMadeOutsideTheService() throws Exception {
+        String path = "/items/" + item.getId();
+        String etag = etag(path, booker.getId());
+        Item changed = itemRepository.findById(item.getId()).orElseThrow();
+        changed.setName("impact drill");
+        itemRepository.save(changed);
+
+        mockMvc.perform(get("/items/" + item.getId()).header(USER_ID_HEADER, booker.getId()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.name").value("impact drill"));
+        assertThat(etag(path, booker.getId())).isNotEqualTo(etag);
+    }
+
+    @Test
+    void userListTagCoversOnlyTheReturnedPage() throws Exception {
+        String path = "/users?size=1&name=" + prefix;
+        String etag = etag(path, owner.getId());
+
+        UserDto userDto = new UserDto();
+        userDto.setId(booker.getId());
+        userDto.setName(prefix + "renamed");
+        userService.updateUser(userDto);
+
+        mockMvc.perform(get(path).header(HttpHeaders.IF_NONE_MATCH, etag))
+            .andExpect(status().isNotModified());
+
+        userDto.setId(owner.getId());
+        userService.updateUser(userDto);
+
+        assertThat(etag(path, owner.getId())).isNotEqualTo(etag);
+    }
+
+    @Test
+    void itemListTagFollowsItemsCommentsAndBookings() throws Exception {
+        String etag = etag("/items", owner.getId());
+
+        mockMvc.perform(get("/items").header(USER_ID_HEADER, owner.getId()).header(HttpHeaders.IF_NONE_MATCH, etag))
+            .andExpect(status().isNotModified());
+
+        ResponseBookingDto booking = bookingService.createBooking(booker.getId(), bookingRequest(item.getId(),
+            LocalDateTime.now().plusDays(1), LocalDateTime.now().plusDays(2)));
+        assertThat(etag("/items", owner.getId())).isEqualTo(etag);
+
+        bookingService.reviewBooking(owner.getId(), booking.getId(), true);
+        String approved = etag("/items", owner.getId());
+        assertThat(approved).isNotEqualTo(etag);
+
+        ItemDto itemDto = new ItemDto();
+        itemDto.setDescription("hammer drill");
+        itemService.updateItem(item.getId(), owner.getId(), itemDto);
+        assertThat(etag("/items", owner.getId())).isNotEqualTo(approved);
+    }
+
+    @Test
+    void bookingListTagsCoverOnlyTheReturnedPage() throws Exception {
+        ResponseBookingDto first = bookingService.createBooking(booker.getId(), bookingRequest(item.getId(),
+            LocalDateTime.now().plusDays(1), LocalDateTime.now().plusDays(2)));
+        ResponseBookingDto second = bookingService.createBooking(booker.getId(), bookingRequest(item.getId(),
+            LocalDateTime.now().plusDays(3), LocalDateTime.now().plusDays(4)));
+        String bookerEtag = etag("/bookings?size=1", booker.getId());
+        String ownerEtag = etag("/bookings/owner?size=1", owner.getId());
+
+        bookingService.reviewBooking(owner.getId(), second.getId(), true);
+
+        mockMvc.perform(get("/bookings?size=1").header(USER_ID_HEADER, booker.getId())
+                .header(HttpHeaders.IF_NONE_MATCH, bookerEtag))
+            .andExpect(status().isNotModified());
+        mockMvc.perform(get("/bookings/owner?size=1").header(USER_ID_HEADER, owner.getId())
+                .header(HttpHeaders.IF_NONE_MATCH, ownerEtag))
+            .andExpect(status().isNotModified());
+        assertThat(etag("/bookings?size=1&state=WAITING", booker.getId())).isNotEqualTo(bookerEtag);
+
+        bookingService.reviewBooking(owner.getId(), first.getId(), false);
+
+        assertThat(etag("/bookings?size=1", booker.getId())).isNotEqualTo(bookerEtag);
+        assertThat(etag("/bookings/owner?size=1", owner.getId())).isNotEqualTo(ownerEtag);
+    }
+
+    @Test
+    void notModifiedListsCostOneQuery() throws Exception {
+        bookingService.createBooking(booker.getId(), bookingRequest(item.getId(), LocalDateTime.now().plusDays(1),
+            LocalDateTime.now().plusDays(2)));
+        Map<String, Long> paths = Map.of("/users?name=" + prefix, owner.getId(), "/items", owner.getId(),
+            "/bookings", booker.getId(), "/bookings/owner", owner.getId());
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        for (Map.Entry<String, Long> path : paths.entrySet()) {
+            String etag = etag(path.getKey(), path.getValue());
+            statistics.clear();
+            mockMvc.perform(get(path.getKey()).header(USER_ID_HEADER, path.getValue())
+                    .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+            assertThat(statistics.getPrepareStatementCount()).as(path.getKey()).isEqualTo(1);
+        }
+    }
+
+    private String etag(String path, long userId) throws Exception {
+        String etag = mockMvc.perform(get(path).header(USER_ID_HEADER, userId))
+            .andExpect(status().isOk())
+            .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(etag).isNotBlank();
+        return etag;
+    }
+}
@@ -0,0 +1,61 @@
+package ru.practicum.shareit;
+
+import ru.practicum.shareit.booking.dto.RequestBookingDto;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicLong;
+
+public final class TestFixtures {
+    static final AtomicLong SEQUENCE = new AtomicLong(System.nanoTime());
+
+    private TestFixtures() {
+    }
+
+    public static User user(String name) {
+        User user = new User();
+        user.setName(name);
+        user.setEmail(name + "-" + SEQUENCE.incrementAndGet() + "@shareit.ru");
+        return user;
+    }
+
+    public static UserDto userDto(String name) {
+        User user = user(name);
+        UserDto userDto = new UserDto();
+        userDto.setName(user.getName());
+        userDto.setEmail(user.getEmail());
+        return userDto;
+    }
+
+    public static Item item(User owner, String name) {
+        Item item = new Item();
+        item.setName(name);
+        item.setDescription("description of " + name);
+        item.setAvailable(true);
+        item.setOwner(owner);
+        return item;
+    }
+
+    public static RequestBookingDto bookingRequest(long itemId, LocalDateTime start, LocalDateTime end) {
+        RequestBookingDto requestBookingDto = new RequestBookingDto();
+        requestBookingDto.setItemId(itemId);
+        requestBookingDto.setStart(start);
+        requestBookingDto.setEnd(end);
+        return requestBookingDto;
+    }
+
+    public static Booking booking(Item item, User booker, LocalDateTime start, LocalDateTime end,
+                                  BookingStatus status) {
+        Booking booking = new Booking();
+        booking.setItem(item);
+        booking.setBooker(booker);
+        booking.setStart(start);
+        booking.setEnd(end);
+        booking.setStatus(status);
+        return booking;
+    }
+}
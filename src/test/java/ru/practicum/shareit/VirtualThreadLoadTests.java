@@ -0,0 +1,178 @@
+package ru.practicum.shareit;
+
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.UserRepository;
+import ru.practicum.shareit.user.model.User;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static ru.practicum.shareit.TestFixtures.item;
+import static ru.practicum.shareit.TestFixtures.user;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Manual load test, excluded from the default build by its tag. Run it with
+ * {@code mvn test -Dsurefire.excludedGroups= -Dgroups=loadtest -Dtest=VirtualThreadLoadTests} on a machine with
+ * enough cores and file descriptors for the requested {@value #CONCURRENCY_PROPERTY} levels.
+ */
+@Slf4j
+@Tag("loadtest")
+class VirtualThreadLoadTests {
+    static final String CONCURRENCY_PROPERTY = "loadtest.concurrency";
+    static final String DEFAULT_CONCURRENCY = "1000,10000";
+    static final int WARMUP_REQUESTS_PER_CONNECTION = 2;
+    static final int REQUESTS_PER_CONNECTION = 5;
+    static final int BOOKINGS = 100;
+    static final double TOLERATED_REGRESSION = 0.1;
+
+    static IntStream concurrencyLevels() {
+        return Arrays.stream(System.getProperty(CONCURRENCY_PROPERTY, DEFAULT_CONCURRENCY).split(","))
+            .map(String::trim)
+            .mapToInt(Integer::parseInt);
+    }
+
+    @ParameterizedTest(name = "concurrency: {0}")
+    @MethodSource("concurrencyLevels")
+    void virtualThreadsServeListingsWithoutErrorsOrRegression(int concurrency) throws Exception {
+        LoadResult platform = listBookingsUnderLoad(false, concurrency);
+        LoadResult virtual = listBookingsUnderLoad(true, concurrency);
+
+        assertThat(platform.failures).as("platform thread failures").isZero();
+        assertThat(virtual.failures).as("virtual thread failures").isZero();
+        assertThat(virtual.throughput)
+            .as("virtual thread throughput against %s req/s on platform threads", platform.throughput)
+            .isGreaterThanOrEqualTo((long) (platform.throughput * (1 - TOLERATED_REGRESSION)));
+        assertThat(virtual.p99Nanos)
+            .as("virtual thread p99 against %s ms on platform threads", millis(platform.p99Nanos))
+            .isLessThanOrEqualTo((long) (platform.p99Nanos * (1 + TOLERATED_REGRESSION)));
+    }
+
+    private LoadResult listBookingsUnderLoad(boolean virtualThreads, int concurrency) throws Exception {
+        try (ConfigurableApplicationContext context = startContext(virtualThreads, concurrency)) {
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            long bookerId = seed(context);
+
+            HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(30))
+                .build();
+            HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/bookings?size=20"))
+                .header("X-Sharer-User-Id", String.valueOf(bookerId))
+                .timeout(Duration.ofSeconds(60))
+                .build();
+
+            fire(client, request, concurrency, concurrency * WARMUP_REQUESTS_PER_CONNECTION, new AtomicInteger());
+
+            int total = concurrency * REQUESTS_PER_CONNECTION;
+            AtomicInteger failures = new AtomicInteger();
+            long startedAt = System.nanoTime();
+            long[] latencies = fire(client, request, concurrency, total, failures);
+            long elapsedNanos = System.nanoTime() - startedAt;
+
+            Arrays.sort(latencies);
+            LoadResult result = new LoadResult(failures.get(), total * TimeUnit.SECONDS.toNanos(1) / elapsedNanos,
+                latencies[(int) (total * 0.99)]);
+            log.info("virtualThreads={} concurrency={} requests={} failures={} throughput={} req/s p50={} ms "
+                    + "p99={} ms max={} ms", virtualThreads, concurrency, total, result.failures, result.throughput,
+                millis(latencies[total / 2]), millis(result.p99Nanos), millis(latencies[total - 1]));
+            return result;
+        }
+    }
+
+    private long[] fire(HttpClient client, HttpRequest request, int concurrency, int total, AtomicInteger failures)
+        throws InterruptedException {
+        long[] latencies = new long[total];
+        Semaphore inFlight = new Semaphore(concurrency);
+        List<CompletableFuture<?>> futures = new ArrayList<>(total);
+        for (int i = 0; i < total; i++) {
+            int index = i;
+            inFlight.acquire();
+            long sentAt = System.nanoTime();
+            futures.add(client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                .whenComplete((response, error) -> {
+                    latencies[index] = System.nanoTime() - sentAt;
+                    if (error != null || response.statusCode() != 200) {
+                        failures.incrementAndGet();
+                    }
+                    inFlight.release();
+                }));
+        }
+        CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).exceptionally(error -> null).join();
+        return latencies;
+    }
+
+    private ConfigurableApplicationContext startContext(boolean virtualThreads, int concurrency) {
+        return new SpringApplicationBuilder(ShareItApp.class)
+            .logStartupInfo(false)
+            .run("--server.port=0",
+                "--server.tomcat.max-connections=" + (concurrency + 100),
+                "--server.tomcat.accept-count=" + concurrency,
+                "--spring.threads.virtual.enabled=" + virtualThreads,
+                "--spring.datasource.url=jdbc:h2:mem:load-" + UUID.randomUUID(),
+                "--spring.jpa.properties.hibernate.generate_statistics=false",
+                "--logging.level.root=WARN",
+                "--logging.level.org.springframework.transaction=WARN",
+                "--logging.level.org.springframework.transaction.interceptor=WARN",
+                "--logging.level.org.springframework.orm.jpa=WARN",
+                "--logging.level.org.springframework.orm.jpa.JpaTransactionManager=WARN",
+                "--logging.level.ru.practicum.shareit=INFO");
+    }
+
+    private long seed(ConfigurableApplicationContext context) {
+        User owner = context.getBean(UserRepository.class).save(user("owner"));
+        User booker = context.getBean(UserRepository.class).save(user("booker"));
+
+        Item item = context.getBean(ItemRepository.class).save(item(owner, "item"));
+
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        List<Booking> bookings = new ArrayList<>(BOOKINGS);
+        for (int i = 0; i < BOOKINGS; i++) {
+            Booking booking = new Booking();
+            booking.setStart(start.plusHours(i));
+            booking.setEnd(start.plusHours(i + 1));
+            booking.setItem(item);
+            booking.setBooker(booker);
+            booking.setStatus(BookingStatus.WAITING);
+            bookings.add(booking);
+        }
+        context.getBean(BookingRepository.class).saveAll(bookings);
+        return booker.getId();
+    }
+
+    private static long millis(long nanos) {
+        return TimeUnit.NANOSECONDS.toMillis(nanos);
+    }
+
+    @Value
+    static class LoadResult {
+        int failures;
+        long throughput;
+        long p99Nanos;
+    }
+}
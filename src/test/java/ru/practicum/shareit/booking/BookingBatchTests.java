@@ -0,0 +1,203 @@
+package ru.practicum.shareit.booking;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import ru.practicum.shareit.booking.dto.BatchBookingDto;
+import ru.practicum.shareit.booking.dto.BatchBookingResultDto;
+import ru.practicum.shareit.booking.dto.RequestBookingDto;
+import ru.practicum.shareit.booking.model.BatchMode;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingState;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.pagination.KeysetCursor;
+import ru.practicum.shareit.user.UserCache;
+import ru.practicum.shareit.user.UserRepository;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.startsWith;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static ru.practicum.shareit.TestFixtures.booking;
+import static ru.practicum.shareit.TestFixtures.bookingRequest;
+import static ru.practicum.shareit.TestFixtures.item;
+import static ru.practicum.shareit.TestFixtures.user;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class BookingBatchTests {
+    final LocalDateTime day = LocalDateTime.now().plusDays(10).truncatedTo(ChronoUnit.DAYS);
+
+    @Autowired
+    MockMvc mockMvc;
+    @Autowired
+    ObjectMapper objectMapper;
+    @Autowired
+    BookingService bookingService;
+    @Autowired
+    BookingRepository bookingRepository;
+    @Autowired
+    ItemRepository itemRepository;
+    @Autowired
+    UserRepository userRepository;
+    @Autowired
+    UserCache userCache;
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
+
+    User owner;
+    User booker;
+    Item tent;
+    Item canoe;
+
+    @BeforeEach
+    void setUp() {
+        owner = userRepository.save(user("owner"));
+        booker = userRepository.save(user("booker"));
+        tent = itemRepository.save(item(owner, "tent"));
+        canoe = itemRepository.save(item(owner, "canoe"));
+        bookingRepository.save(booking(canoe, owner, at(10), at(12), BookingStatus.APPROVED));
+    }
+
+    @Test
+    void atomicBatchRollsBackWhenOneEntryConflicts() throws Exception {
+        batch(BatchMode.ATOMIC,
+            bookingRequest(tent.getId(), at(1), at(2)),
+            bookingRequest(canoe.getId(), at(1), at(2)),
+            bookingRequest(canoe.getId(), at(11), at(13)))
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.description").value(startsWith("Booking #2:")));
+
+        assertThat(bookingsOfBooker()).isZero();
+    }
+
+    @Test
+    void partialBatchSavesValidEntriesAndReportsTheRest() throws Exception {
+        batch(BatchMode.PARTIAL,
+            bookingRequest(tent.getId(), at(1), at(2)),
+            bookingRequest(canoe.getId(), at(11), at(13)),
+            bookingRequest(Long.MAX_VALUE, at(1), at(2)),
+            bookingRequest(canoe.getId(), at(1), at(2)))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$[*].index").value(contains(0, 1, 2, 3)))
+            .andExpect(jsonPath("$[0].booking.item.id").value(tent.getId()))
+            .andExpect(jsonPath("$[0].error").value(nullValue()))
+            .andExpect(jsonPath("$[1].booking").value(nullValue()))
+            .andExpect(jsonPath("$[1].error").value(containsString("already booked")))
+            .andExpect(jsonPath("$[2].error").value(containsString("not found")))
+            .andExpect(jsonPath("$[3].booking.status").value("WAITING"));
+
+        assertThat(bookingsOfBooker()).isEqualTo(2);
+    }
+
+    @Test
+    void overlapsInsideOneBatchAreDetected() {
+        List<BatchBookingResultDto> results = bookingService.createBookings(booker.getId(), batchDto(
+            BatchMode.PARTIAL,
+            bookingRequest(tent.getId(), at(1), at(3)),
+            bookingRequest(tent.getId(), at(2), at(4)),
+            bookingRequest(tent.getId(), at(3), at(4))));
+
+        assertThat(results).extracting(BatchBookingResultDto::getError)
+            .satisfiesExactly(
+                error -> assertThat(error).isNull(),
+                error -> assertThat(error).startsWith("Booking #1:").contains("already booked"),
+                error -> assertThat(error).isNull());
+    }
+
+    @Test
+    void batchIsLimitedToOneHundredEntries() throws Exception {
+        batch(BatchMode.PARTIAL, hourly(BatchBookingDto.MAX_BATCH_SIZE + 1).toArray(RequestBookingDto[]::new))
+            .andExpect(status().isBadRequest());
+        assertThat(bookingsOfBooker()).isZero();
+
+        batch(BatchMode.ATOMIC, hourly(BatchBookingDto.MAX_BATCH_SIZE).toArray(RequestBookingDto[]::new))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.length()").value(BatchBookingDto.MAX_BATCH_SIZE));
+        assertThat(bookingsOfBooker()).isEqualTo(BatchBookingDto.MAX_BATCH_SIZE);
+    }
+
+    @Test
+    void cachedBookerIsNotLoadedFromTheDatabase() {
+        userCache.findById(booker.getId());
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        List<BatchBookingResultDto> results = bookingService.createBookings(booker.getId(),
+            batchDto(BatchMode.ATOMIC, hourly(3).toArray(RequestBookingDto[]::new)));
+
+        assertThat(results).extracting(result -> result.getBooking().getBooker().getEmail())
+            .containsOnly(booker.getEmail());
+        assertThat(statistics.getEntityStatistics(User.class.getName()).getLoadCount()).isZero();
+    }
+
+    @Test
+    void fullBatchIsInsertedWithJdbcBatchesAndPooledIds() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        List<BatchBookingResultDto> results = bookingService.createBookings(booker.getId(),
+            batchDto(BatchMode.ATOMIC, hourly(BatchBookingDto.MAX_BATCH_SIZE).toArray(RequestBookingDto[]::new)));
+
+        assertThat(statistics.getEntityStatistics(Booking.class.getName()).getInsertCount())
+            .isEqualTo(BatchBookingDto.MAX_BATCH_SIZE);
+        // without JDBC batching and the pooled sequence this would be two statements per booking
+        assertThat(statistics.getPrepareStatementCount()).isLessThan(20);
+
+        List<Long> ids = results.stream().map(result -> result.getBooking().getId()).toList();
+        assertThat(ids).doesNotHaveDuplicates().isSorted();
+        assertThat(ids.get(ids.size() - 1) - ids.get(0)).isLessThan(3L * BatchBookingDto.MAX_BATCH_SIZE);
+    }
+
+    private List<RequestBookingDto> hourly(int count) {
+        List<RequestBookingDto> requests = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            requests.add(bookingRequest(tent.getId(), at(24 + i), at(25 + i)));
+        }
+        return requests;
+    }
+
+    private ResultActions batch(BatchMode mode, RequestBookingDto... requests) throws Exception {
+        return mockMvc.perform(post("/bookings/batch")
+            .header(BookingController.USER_ID_HEADER, booker.getId())
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(objectMapper.writeValueAsString(batchDto(mode, requests))));
+    }
+
+    private BatchBookingDto batchDto(BatchMode mode, RequestBookingDto... requests) {
+        BatchBookingDto batchBookingDto = new BatchBookingDto();
+        batchBookingDto.setMode(mode);
+        batchBookingDto.setBookings(List.of(requests));
+        return batchBookingDto;
+    }
+
+    private int bookingsOfBooker() {
+        return bookingService.getBookingsByBooker(booker.getId(), BookingState.ALL, null,
+            KeysetCursor.MAX_PAGE_SIZE).getContent().size();
+    }
+
+    private LocalDateTime at(int hour) {
+        return day.plusHours(hour);
+    }
+}
@@ -0,0 +1,82 @@
+package ru.practicum.shareit.booking;
+
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.UserRepository;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static ru.practicum.shareit.TestFixtures.item;
+import static ru.practicum.shareit.TestFixtures.user;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Slf4j
+@Tag("benchmark")
+@SpringBootTest
+class BookingBulkInsertBenchmarkTests {
+    static final int BOOKINGS = 100_000;
+    static final int ITEMS = 100;
+    static final int CHUNK_SIZE = 1_000;
+
+    @Autowired
+    BookingRepository bookingRepository;
+    @Autowired
+    ItemRepository itemRepository;
+    @Autowired
+    UserRepository userRepository;
+    @Autowired
+    TransactionTemplate transactionTemplate;
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void bulkInsertBookings() {
+        User owner = userRepository.save(user("owner"));
+        User booker = userRepository.save(user("booker"));
+        List<Item> items = new ArrayList<>();
+        for (int i = 0; i < ITEMS; i++) {
+            items.add(item(owner, "item " + i));
+        }
+        List<Item> savedItems = itemRepository.saveAll(items);
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        long bookingsBefore = bookingRepository.count();
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+
+        long startedAt = System.nanoTime();
+        for (int offset = 0; offset < BOOKINGS; offset += CHUNK_SIZE) {
+            List<Booking> chunk = new ArrayList<>(CHUNK_SIZE);
+            for (int i = offset; i < offset + CHUNK_SIZE; i++) {
+                Booking booking = new Booking();
+                booking.setStart(start.plusHours(i));
+                booking.setEnd(start.plusHours(i + 1));
+                booking.setItem(savedItems.get(i % ITEMS));
+                booking.setBooker(booker);
+                booking.setStatus(BookingStatus.WAITING);
+                chunk.add(booking);
+            }
+            transactionTemplate.executeWithoutResult(status -> bookingRepository.saveAll(chunk));
+        }
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt);
+
+        log.info("Inserted {} bookings in {} ms ({} rows/s) using {} prepared statements", BOOKINGS, elapsedMillis,
+            BOOKINGS * 1000L / Math.max(elapsedMillis, 1), statistics.getPrepareStatementCount());
+        assertThat(bookingRepository.count() - bookingsBefore).isEqualTo(BOOKINGS);
+    }
+}
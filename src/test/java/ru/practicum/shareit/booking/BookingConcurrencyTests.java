@@ -0,0 +1,181 @@
+package ru.practicum.shareit.booking;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.exceptions.NotAvailableException;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.UserRepository;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static ru.practicum.shareit.TestFixtures.bookingRequest;
+import static ru.practicum.shareit.TestFixtures.item;
+import static ru.practicum.shareit.TestFixtures.user;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+class BookingConcurrencyTests {
+    static final int THREADS = 16;
+    static final int ATTEMPTS_PER_THREAD = 10;
+
+    @Autowired
+    BookingService bookingService;
+    @Autowired
+    BookingRepository bookingRepository;
+    @Autowired
+    ItemRepository itemRepository;
+    @Autowired
+    UserRepository userRepository;
+    @Autowired
+    TransactionTemplate transactionTemplate;
+
+    User owner;
+    List<User> bookers;
+    LocalDateTime start;
+
+    @BeforeEach
+    void setUp() {
+        owner = userRepository.save(user("owner"));
+        bookers = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            bookers.add(userRepository.save(user("booker")));
+        }
+        start = LocalDateTime.now().plusDays(1);
+    }
+
+    @Test
+    void concurrentRequestsForOneSlotProduceSingleBooking() throws Exception {
+        Item item = itemRepository.save(item(owner, "tent"));
+        AtomicInteger rejected = new AtomicInteger();
+
+        List<Integer> created = runConcurrently(thread -> {
+            int bookings = 0;
+            for (int attempt = 0; attempt < ATTEMPTS_PER_THREAD; attempt++) {
+                // every attempt overlaps the same two-hour window
+                LocalDateTime from = start.plusMinutes(attempt * 5L);
+                try {
+                    bookingService.createBooking(bookers.get(thread).getId(),
+                        bookingRequest(item.getId(), from, from.plusHours(2)));
+                    bookings++;
+                } catch (NotAvailableException e) {
+                    rejected.incrementAndGet();
+                }
+            }
+            return bookings;
+        });
+
+        assertThat(created.stream().mapToInt(Integer::intValue).sum()).isEqualTo(1);
+        assertThat(rejected.get()).isEqualTo(THREADS * ATTEMPTS_PER_THREAD - 1);
+        assertThat(bookingRepository.existsByItemIdAndStatusInAndStartBeforeAndEndAfter(item.getId(),
+            BookingStatus.ACTIVE, start.plusHours(3), start.minusHours(1))).isTrue();
+    }
+
+    @Test
+    void concurrentRequestsForDifferentItemsAllSucceed() throws Exception {
+        List<Item> items = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            items.add(itemRepository.save(item(owner, "tent")));
+        }
+
+        List<Integer> created = runConcurrently(thread -> {
+            int bookings = 0;
+            for (int attempt = 0; attempt < ATTEMPTS_PER_THREAD; attempt++) {
+                LocalDateTime from = start.plusHours(attempt);
+                bookingService.createBooking(bookers.get(thread).getId(),
+                    bookingRequest(items.get(thread).getId(), from, from.plusMinutes(30)));
+                bookings++;
+            }
+            return bookings;
+        });
+
+        assertThat(created).containsOnly(ATTEMPTS_PER_THREAD);
+    }
+
+    @Test
+    void lockOnOneItemBlocksOnlyBookingsOfThatItem() throws Exception {
+        Item held = itemRepository.save(item(owner, "tent"));
+        Item other = itemRepository.save(item(owner, "tent"));
+        CountDownLatch locked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(3);
+        try {
+            Future<?> holder = executor.submit(() -> transactionTemplate.executeWithoutResult(status -> {
+                bookingService.createBooking(bookers.get(0).getId(),
+                    bookingRequest(held.getId(), start, start.plusHours(1)));
+                locked.countDown();
+                try {
+                    release.await(30, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }));
+            assertThat(locked.await(30, TimeUnit.SECONDS)).isTrue();
+
+            // the holder's transaction keeps the row lock on `held` until release
+            Future<?> otherItem = executor.submit(() -> bookingService.createBooking(bookers.get(1).getId(),
+                bookingRequest(other.getId(), start, start.plusHours(1))));
+            otherItem.get(10, TimeUnit.SECONDS);
+
+            Future<?> sameItem = executor.submit(() -> bookingService.createBooking(bookers.get(2).getId(),
+                bookingRequest(held.getId(), start.plusHours(2), start.plusHours(3))));
+            assertThatThrownBy(() -> sameItem.get(200, TimeUnit.MILLISECONDS))
+                .isInstanceOf(TimeoutException.class);
+
+            release.countDown();
+            holder.get(10, TimeUnit.SECONDS);
+            sameItem.get(10, TimeUnit.SECONDS);
+        } finally {
+            release.countDown();
+            executor.shutdownNow();
+        }
+
+        assertThat(bookingRepository.existsByItemIdAndStatusInAndStartBeforeAndEndAfter(held.getId(),
+            BookingStatus.ACTIVE, start.plusHours(3), start.plusHours(2))).isTrue();
+    }
+
+    private List<Integer> runConcurrently(ThreadTask task) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch startSignal = new CountDownLatch(1);
+        try {
+            List<Future<Integer>> futures = new ArrayList<>();
+            for (int i = 0; i < THREADS; i++) {
+                int thread = i;
+                Callable<Integer> callable = () -> {
+                    startSignal.await();
+                    return task.run(thread);
+                };
+                futures.add(executor.submit(callable));
+            }
+            startSignal.countDown();
+
+            List<Integer> results = new ArrayList<>();
+            for (Future<Integer> future : futures) {
+                results.add(future.get(60, TimeUnit.SECONDS));
+            }
+            return results;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    interface ThreadTask {
+        int run(int thread) throws Exception;
+    }
+}
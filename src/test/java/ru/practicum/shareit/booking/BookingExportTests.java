@@ -0,0 +1,132 @@
+package ru.practicum.shareit.booking;
+
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.persistence.EntityManager;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import ru.practicum.shareit.booking.dto.ResponseBookingDto;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.UserRepository;
+import ru.practicum.shareit.user.model.User;
+
+import javax.sql.DataSource;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static ru.practicum.shareit.TestFixtures.booking;
+import static ru.practicum.shareit.TestFixtures.item;
+import static ru.practicum.shareit.TestFixtures.user;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class BookingExportTests {
+    static final int BOOKINGS = BookingServiceImpl.EXPORT_CLEAR_INTERVAL * 2 + 50;
+
+    @Autowired
+    MockMvc mockMvc;
+    @Autowired
+    BookingService bookingService;
+    @Autowired
+    BookingRepository bookingRepository;
+    @Autowired
+    ItemRepository itemRepository;
+    @Autowired
+    UserRepository userRepository;
+    @Autowired
+    EntityManager entityManager;
+    @Autowired
+    DataSource dataSource;
+
+    User owner;
+    User booker;
+
+    @BeforeEach
+    void setUp() {
+        owner = userRepository.save(user("owner"));
+        booker = userRepository.save(user("booker"));
+        List<Item> items = itemRepository.saveAll(List.of(item(owner, "bike"), item(owner, "helmet")));
+        LocalDateTime start = LocalDateTime.now().minusYears(1);
+        List<Booking> bookings = new ArrayList<>();
+        for (int i = 0; i < BOOKINGS; i++) {
+            bookings.add(booking(items.get(i % 2), booker, start.plusHours(i), start.plusHours(i + 1),
+                BookingStatus.APPROVED));
+        }
+        bookingRepository.saveAll(bookings);
+    }
+
+    @Test
+    void exportStreamsEveryBookingAsNdjson() throws Exception {
+        MvcResult result = mockMvc.perform(get("/bookings/owner/export")
+                .header(BookingController.USER_ID_HEADER, owner.getId()))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+
+        String body = mockMvc.perform(asyncDispatch(result))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+            .andReturn().getResponse().getContentAsString();
+
+        assertThat(body.lines()).hasSize(BOOKINGS).allSatisfy(line -> assertThat(line).startsWith("{\"id\":"));
+    }
+
+    @Test
+    void unknownUserIsNotFoundBeforeStreamingStarts() throws Exception {
+        mockMvc.perform(get("/bookings/export").header(BookingController.USER_ID_HEADER, Long.MAX_VALUE))
+            .andExpect(request().asyncNotStarted())
+            .andExpect(status().isNotFound())
+            .andExpect(jsonPath("$.name").value("error"));
+    }
+
+    @Test
+    void persistenceContextIsClearedWhileExporting() {
+        SessionImplementor[] session = new SessionImplementor[1];
+        AtomicInteger maxManaged = new AtomicInteger();
+        List<ResponseBookingDto> exported = new ArrayList<>();
+
+        bookingService.exportBookingsByBooker(booker.getId(), responseBookingDto -> {
+            session[0] = entityManager.unwrap(SessionImplementor.class);
+            maxManaged.accumulateAndGet(session[0].getPersistenceContextInternal().getNumberOfManagedEntities(),
+                Math::max);
+            exported.add(responseBookingDto);
+        });
+
+        assertThat(exported).hasSize(BOOKINGS)
+            .extracting(ResponseBookingDto::getStart)
+            .isSorted();
+        assertThat(maxManaged.get()).isLessThanOrEqualTo(BookingServiceImpl.EXPORT_CLEAR_INTERVAL + 3);
+    }
+
+    @Test
+    void failingConsumerClosesStreamAndReleasesConnection() {
+        AtomicInteger written = new AtomicInteger();
+
+        assertThatThrownBy(() -> bookingService.exportBookingsByBooker(booker.getId(), responseBookingDto -> {
+            if (written.incrementAndGet() == 10) {
+                throw new IllegalStateException("client went away");
+            }
+        })).isInstanceOf(IllegalStateException.class);
+
+        assertThat(written.get()).isEqualTo(10);
+        assertThat(((HikariDataSource) dataSource).getHikariPoolMXBean().getActiveConnections()).isZero();
+    }
+}
@@ -0,0 +1,98 @@
+package ru.practicum.shareit.booking;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import ru.practicum.shareit.booking.dto.ResponseBookingDto;
+import ru.practicum.shareit.booking.model.BookingState;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.exceptions.NotFoundException;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.pagination.KeysetCursor;
+import ru.practicum.shareit.request.ItemRequestRepository;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.user.UserRepository;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static ru.practicum.shareit.TestFixtures.booking;
+import static ru.practicum.shareit.TestFixtures.item;
+import static ru.practicum.shareit.TestFixtures.user;
+
+@SpringBootTest
+class BookingFeedTests {
+    @Autowired
+    BookingFeedService bookingFeedService;
+    @Autowired
+    BookingService bookingService;
+    @Autowired
+    BookingRepository bookingRepository;
+    @Autowired
+    ItemRepository itemRepository;
+    @Autowired
+    ItemRequestRepository itemRequestRepository;
+    @Autowired
+    UserRepository userRepository;
+
+    User owner;
+    User booker;
+
+    @BeforeEach
+    void setUp() {
+        owner = userRepository.save(user("owner"));
+        booker = userRepository.save(user("booker"));
+        User requestor = userRepository.save(user("requestor"));
+
+        ItemRequest itemRequest = new ItemRequest();
+        itemRequest.setDescription("need a tent");
+        itemRequest.setRequestor(requestor);
+        Item requested = item(owner, "tent");
+        requested.setRequest(itemRequestRepository.save(itemRequest));
+        Item unavailable = item(owner, "stove");
+        unavailable.setAvailable(false);
+        List<Item> items = itemRepository.saveAll(List.of(requested, unavailable));
+
+        LocalDateTime now = LocalDateTime.now();
+        bookingRepository.saveAll(List.of(
+            booking(items.get(0), booker, now.minusDays(3), now.minusDays(2), BookingStatus.APPROVED),
+            booking(items.get(1), booker, now.minusDays(1), now.plusDays(1), BookingStatus.APPROVED),
+            booking(items.get(0), booker, now.plusDays(1), now.plusDays(2), BookingStatus.WAITING),
+            booking(items.get(1), booker, now.plusDays(3), now.plusDays(4), BookingStatus.REJECTED),
+            booking(items.get(0), owner, now.plusDays(5), now.plusDays(6), BookingStatus.APPROVED)));
+    }
+
+    @ParameterizedTest
+    @EnumSource(BookingState.class)
+    void bookerFeedMatchesBlockingListing(BookingState state) {
+        List<ResponseBookingDto> feed = bookingFeedService.getBookingsByBooker(booker.getId(), state)
+            .collectList().block();
+
+        assertThat(feed).isNotEmpty().isEqualTo(bookingService
+            .getBookingsByBooker(booker.getId(), state, null, KeysetCursor.MAX_PAGE_SIZE).getContent());
+    }
+
+    @ParameterizedTest
+    @EnumSource(BookingState.class)
+    void ownerFeedMatchesBlockingListing(BookingState state) {
+        List<ResponseBookingDto> feed = bookingFeedService.getBookingsByOwner(owner.getId(), state)
+            .collectList().block();
+
+        assertThat(feed).isNotEmpty().isEqualTo(bookingService
+            .getBookingByOwner(owner.getId(), state, null, KeysetCursor.MAX_PAGE_SIZE).getContent());
+    }
+
+    @Test
+    void ownerFeedRejectsUnknownUser() {
+        assertThatThrownBy(() -> bookingFeedService.getBookingsByOwner(Long.MAX_VALUE, BookingState.ALL)
+            .collectList().block())
+            .isInstanceOf(NotFoundException.class);
+    }
+}
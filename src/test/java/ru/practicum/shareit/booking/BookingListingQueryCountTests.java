@@ -0,0 +1,113 @@
+package ru.practicum.shareit.booking;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import ru.practicum.shareit.booking.dto.ResponseBookingDto;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingState;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.pagination.CursorPage;
+import ru.practicum.shareit.pagination.KeysetCursor;
+import ru.practicum.shareit.user.UserRepository;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static ru.practicum.shareit.TestFixtures.item;
+import static ru.practicum.shareit.TestFixtures.user;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class BookingListingQueryCountTests {
+    static final int BOOKINGS = 1_000;
+    static final int PAGES = BOOKINGS / KeysetCursor.MAX_PAGE_SIZE;
+
+    @Autowired
+    BookingService bookingService;
+    @Autowired
+    BookingRepository bookingRepository;
+    @Autowired
+    ItemRepository itemRepository;
+    @Autowired
+    UserRepository userRepository;
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
+
+    User owner;
+    User booker;
+
+    @BeforeEach
+    void setUp() {
+        owner = userRepository.save(user("owner"));
+        booker = userRepository.save(user("booker"));
+
+        List<Item> items = new ArrayList<>();
+        for (int i = 0; i < BOOKINGS; i++) {
+            items.add(item(owner, "item " + i));
+        }
+        items = itemRepository.saveAll(items);
+
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        List<Booking> bookings = new ArrayList<>();
+        for (int i = 0; i < BOOKINGS; i++) {
+            Booking booking = new Booking();
+            booking.setStart(start.plusHours(i));
+            booking.setEnd(start.plusHours(i + 1));
+            booking.setItem(items.get(i));
+            booking.setBooker(booker);
+            booking.setStatus(BookingStatus.WAITING);
+            bookings.add(booking);
+        }
+        bookingRepository.saveAll(bookings);
+    }
+
+    @Test
+    void bookerListingUsesOneStatementPerPage() {
+        Statistics statistics = statistics();
+
+        List<ResponseBookingDto> bookings = new ArrayList<>();
+        String cursor = null;
+        do {
+            CursorPage<ResponseBookingDto> page = bookingService.getBookingsByBooker(booker.getId(), BookingState.ALL,
+                cursor, KeysetCursor.MAX_PAGE_SIZE);
+            bookings.addAll(page.getContent());
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+
+        assertThat(bookings).hasSize(BOOKINGS);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(PAGES);
+    }
+
+    @Test
+    void ownerListingUsesOneStatementPerPage() {
+        Statistics statistics = statistics();
+
+        List<ResponseBookingDto> bookings = new ArrayList<>();
+        String cursor = null;
+        do {
+            CursorPage<ResponseBookingDto> page = bookingService.getBookingByOwner(owner.getId(), BookingState.ALL,
+                cursor, KeysetCursor.MAX_PAGE_SIZE);
+            bookings.addAll(page.getContent());
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+
+        assertThat(bookings).hasSize(BOOKINGS);
+        // the owner lookup is cached after the first page
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(PAGES + 1L);
+    }
+
+    private Statistics statistics() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        return statistics;
+    }
+}
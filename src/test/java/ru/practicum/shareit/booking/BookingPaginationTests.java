@@ -0,0 +1,88 @@
+package ru.practicum.shareit.booking;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.UserRepository;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static ru.practicum.shareit.TestFixtures.booking;
+import static ru.practicum.shareit.TestFixtures.item;
+import static ru.practicum.shareit.TestFixtures.user;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class BookingPaginationTests {
+    static final int BOOKINGS = 25;
+
+    @Autowired
+    MockMvc mockMvc;
+    @Autowired
+    BookingRepository bookingRepository;
+    @Autowired
+    ItemRepository itemRepository;
+    @Autowired
+    UserRepository userRepository;
+
+    User booker;
+    List<Booking> bookings;
+
+    @BeforeEach
+    void setUp() {
+        User owner = userRepository.save(user("owner"));
+        booker = userRepository.save(user("booker"));
+        Item item = itemRepository.save(item(owner, "canoe"));
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        List<Booking> newBookings = new ArrayList<>();
+        for (int i = 0; i < BOOKINGS; i++) {
+            newBookings.add(booking(item, booker, start.plusHours(i), start.plusHours(i + 1), BookingStatus.WAITING));
+        }
+        bookings = bookingRepository.saveAll(newBookings);
+    }
+
+    @Test
+    void defaultPageHasTwentyBookingsAndCursorLeadsToTheRest() throws Exception {
+        MvcResult firstPage = mockMvc.perform(get("/bookings").header(BookingController.USER_ID_HEADER, booker.getId()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$", hasSize(20)))
+            .andExpect(jsonPath("$[0].id").value(bookings.get(0).getId()))
+            .andExpect(header().exists(BookingController.NEXT_CURSOR_HEADER))
+            .andReturn();
+
+        mockMvc.perform(get("/bookings").header(BookingController.USER_ID_HEADER, booker.getId())
+                .param("cursor", firstPage.getResponse().getHeader(BookingController.NEXT_CURSOR_HEADER)))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$", hasSize(BOOKINGS - 20)))
+            .andExpect(jsonPath("$[0].id").value(bookings.get(20).getId()))
+            .andExpect(header().doesNotExist(BookingController.NEXT_CURSOR_HEADER));
+    }
+
+    @Test
+    void invalidSizeOrCursorIsBadRequest() throws Exception {
+        for (String size : List.of("0", "101", "-1", "many")) {
+            mockMvc.perform(get("/bookings/owner").header(BookingController.USER_ID_HEADER, booker.getId())
+                    .param("size", size))
+                .andExpect(status().isBadRequest());
+        }
+        mockMvc.perform(get("/bookings").header(BookingController.USER_ID_HEADER, booker.getId())
+                .param("cursor", "bm90LWEtY3Vyc29y"))
+            .andExpect(status().isBadRequest());
+    }
+}
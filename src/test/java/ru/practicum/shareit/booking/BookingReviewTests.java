@@ -0,0 +1,59 @@
+package ru.practicum.shareit.booking;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import ru.practicum.shareit.booking.dto.ResponseBookingDto;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.UserRepository;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+
+import static ru.practicum.shareit.TestFixtures.bookingRequest;
+import static ru.practicum.shareit.TestFixtures.item;
+import static ru.practicum.shareit.TestFixtures.user;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class BookingReviewTests {
+    @Autowired
+    BookingService bookingService;
+    @Autowired
+    BookingRepository bookingRepository;
+    @Autowired
+    ItemRepository itemRepository;
+    @Autowired
+    UserRepository userRepository;
+
+    User owner;
+    User booker;
+    Item item;
+
+    @BeforeEach
+    void setUp() {
+        owner = userRepository.save(user("owner"));
+        booker = userRepository.save(user("booker"));
+        item = itemRepository.save(item(owner, "drill"));
+    }
+
+    @Test
+    void reviewIsPersistedWithoutOpenSessionInView() {
+        ResponseBookingDto approved = bookingService.reviewBooking(owner.getId(), book(1), true);
+        ResponseBookingDto rejected = bookingService.reviewBooking(owner.getId(), book(2), false);
+
+        assertThat(bookingRepository.findById(approved.getId())).get()
+            .extracting("status").isEqualTo(BookingStatus.APPROVED);
+        assertThat(bookingRepository.findById(rejected.getId())).get()
+            .extracting("status").isEqualTo(BookingStatus.REJECTED);
+    }
+
+    private long book(int days) {
+        LocalDateTime start = LocalDateTime.now().plusDays(days);
+        return bookingService.createBooking(booker.getId(), bookingRequest(item.getId(), start, start.plusHours(1)))
+            .getId();
+    }
+}
@@ -0,0 +1,116 @@
+package ru.practicum.shareit.booking;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import ru.practicum.shareit.booking.dto.ResponseBookingDto;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingState;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.UserRepository;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static ru.practicum.shareit.TestFixtures.booking;
+import static ru.practicum.shareit.TestFixtures.item;
+import static ru.practicum.shareit.TestFixtures.user;
+
+@SpringBootTest
+class BookingStateFilterTests {
+    @Autowired
+    BookingService bookingService;
+    @Autowired
+    BookingRepository bookingRepository;
+    @Autowired
+    ItemRepository itemRepository;
+    @Autowired
+    UserRepository userRepository;
+
+    User owner;
+    User booker;
+    final Map<String, Long> ids = new LinkedHashMap<>();
+
+    @BeforeEach
+    void setUp() {
+        owner = userRepository.save(user("owner"));
+        booker = userRepository.save(user("booker"));
+        User stranger = userRepository.save(user("stranger"));
+        Item item = itemRepository.save(item(owner, "drill"));
+        Item strangersItem = itemRepository.save(item(stranger, "ladder"));
+
+        LocalDateTime now = LocalDateTime.now();
+        save("past", booking(item, booker, now.minusDays(3), now.minusDays(2), BookingStatus.APPROVED));
+        save("current", booking(item, booker, now.minusHours(1), now.plusHours(1), BookingStatus.APPROVED));
+        save("future", booking(item, booker, now.plusDays(1), now.plusDays(2), BookingStatus.APPROVED));
+        save("waiting", booking(item, booker, now.plusDays(3), now.plusDays(4), BookingStatus.WAITING));
+        save("rejected", booking(item, booker, now.plusDays(5), now.plusDays(6), BookingStatus.REJECTED));
+        save("elsewhere", booking(strangersItem, booker, now.minusHours(2), now.plusHours(2),
+            BookingStatus.APPROVED));
+        save("byStranger", booking(item, stranger, now.minusDays(10), now.minusDays(9), BookingStatus.APPROVED));
+    }
+
+    @ParameterizedTest
+    @EnumSource(BookingState.class)
+    void bookerSeesOnlyOwnBookingsInState(BookingState state) {
+        List<ResponseBookingDto> bookings = bookingService
+            .getBookingsByBooker(booker.getId(), state, null, 20).getContent();
+
+        List<String> expected = switch (state) {
+            case ALL -> List.of("past", "elsewhere", "current", "future", "waiting", "rejected");
+            case CURRENT -> List.of("elsewhere", "current");
+            case PAST -> List.of("past");
+            case FUTURE -> List.of("future", "waiting", "rejected");
+            case WAITING -> List.of("waiting");
+            case REJECTED -> List.of("rejected");
+        };
+        assertThat(bookings).extracting(ResponseBookingDto::getId).containsExactlyElementsOf(idsOf(expected));
+    }
+
+    @ParameterizedTest
+    @EnumSource(BookingState.class)
+    void ownerSeesOnlyBookingsOfOwnItemsInState(BookingState state) {
+        List<ResponseBookingDto> bookings = bookingService
+            .getBookingByOwner(owner.getId(), state, null, 20).getContent();
+
+        List<String> expected = switch (state) {
+            case ALL -> List.of("byStranger", "past", "current", "future", "waiting", "rejected");
+            case CURRENT -> List.of("current");
+            case PAST -> List.of("byStranger", "past");
+            case FUTURE -> List.of("future", "waiting", "rejected");
+            case WAITING -> List.of("waiting");
+            case REJECTED -> List.of("rejected");
+        };
+        assertThat(bookings).extracting(ResponseBookingDto::getId).containsExactlyElementsOf(idsOf(expected));
+    }
+
+    @Test
+    void currentExcludesApprovedBookingsOutsideTheTimeWindow() {
+        List<ResponseBookingDto> bookings = bookingService
+            .getBookingsByBooker(booker.getId(), BookingState.CURRENT, null, 20).getContent();
+
+        assertThat(bookings).extracting(ResponseBookingDto::getId)
+            .doesNotContain(ids.get("past"), ids.get("future"));
+        assertThat(bookings).allSatisfy(booking -> {
+            assertThat(booking.getStart()).isBeforeOrEqualTo(LocalDateTime.now());
+            assertThat(booking.getEnd()).isAfter(LocalDateTime.now());
+        });
+    }
+
+    void save(String name, Booking booking) {
+        ids.put(name, bookingRepository.save(booking).getId());
+    }
+
+    List<Long> idsOf(List<String> names) {
+        return names.stream().map(ids::get).toList();
+    }
+}
@@ -0,0 +1,112 @@
+package ru.practicum.shareit.booking;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import ru.practicum.shareit.booking.dto.ItemBookingDates;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.ItemService;
+import ru.practicum.shareit.item.dto.ItemDtoWithComments;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.UserRepository;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static ru.practicum.shareit.TestFixtures.booking;
+import static ru.practicum.shareit.TestFixtures.item;
+import static ru.practicum.shareit.TestFixtures.user;
+
+@SpringBootTest
+class ItemBookingDatesTests {
+    @Autowired
+    BookingRepository bookingRepository;
+    @Autowired
+    ItemRepository itemRepository;
+    @Autowired
+    UserRepository userRepository;
+    @Autowired
+    ItemService itemService;
+
+    final LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+    User owner;
+    User booker;
+    Item item;
+    Item unbookedItem;
+    Item onlyPendingItem;
+
+    @BeforeEach
+    void setUp() {
+        owner = userRepository.save(user("owner"));
+        booker = userRepository.save(user("booker"));
+        item = itemRepository.save(item(owner, "tent"));
+        unbookedItem = itemRepository.save(item(owner, "stove"));
+        onlyPendingItem = itemRepository.save(item(owner, "lamp"));
+
+        bookingRepository.saveAll(List.of(
+            booking(item, booker, now.minusDays(10), now.minusDays(9), BookingStatus.APPROVED),
+            booking(item, booker, now.minusDays(5), now.minusDays(4), BookingStatus.APPROVED),
+            booking(item, booker, now.minusDays(2), now.minusDays(1), BookingStatus.REJECTED),
+            booking(item, booker, now.minusHours(3), now.minusHours(2), BookingStatus.WAITING),
+            booking(item, booker, now.plusHours(1), now.plusHours(2), BookingStatus.WAITING),
+            booking(item, booker, now.plusHours(3), now.plusHours(4), BookingStatus.REJECTED),
+            booking(item, booker, now.plusDays(2), now.plusDays(3), BookingStatus.APPROVED),
+            booking(item, booker, now.plusDays(7), now.plusDays(8), BookingStatus.APPROVED),
+            booking(onlyPendingItem, booker, now.minusDays(1), now.plusDays(1), BookingStatus.WAITING),
+            booking(onlyPendingItem, booker, now.plusDays(1), now.plusDays(2), BookingStatus.REJECTED)));
+    }
+
+    @Test
+    void batchAggregateIgnoresWaitingAndRejectedBookings() {
+        Map<Long, ItemBookingDates> dates = bookingRepository
+            .findApprovedBookingDatesByItemIds(List.of(item.getId(), unbookedItem.getId(), onlyPendingItem.getId()),
+                now)
+            .stream().collect(Collectors.toMap(ItemBookingDates::getItemId, Function.identity()));
+
+        assertThat(dates).containsOnlyKeys(item.getId());
+        assertThat(dates.get(item.getId()).getLastBooking()).isEqualTo(now.minusDays(5));
+        assertThat(dates.get(item.getId()).getNextBooking()).isEqualTo(now.plusDays(2));
+    }
+
+    @Test
+    void singleItemAggregateMatchesBatch() {
+        assertThat(bookingRepository.findApprovedBookingDatesByItemId(item.getId(), now))
+            .hasValueSatisfying(dates -> {
+                assertThat(dates.getLastBooking()).isEqualTo(now.minusDays(5));
+                assertThat(dates.getNextBooking()).isEqualTo(now.plusDays(2));
+            });
+        assertThat(bookingRepository.findApprovedBookingDatesByItemId(onlyPendingItem.getId(), now)).isEmpty();
+    }
+
+    @Test
+    void ownerSeesApprovedLastAndNextBookingOnItemCard() {
+        ItemDtoWithComments itemDto = itemService.getItemById(owner.getId(), item.getId());
+
+        assertThat(itemDto.getLastBooking()).isEqualTo(now.minusDays(5));
+        assertThat(itemDto.getNextBooking()).isEqualTo(now.plusDays(2));
+    }
+
+    @Test
+    void otherUsersDoNotSeeBookingDates() {
+        ItemDtoWithComments itemDto = itemService.getItemById(booker.getId(), item.getId());
+
+        assertThat(itemDto.getLastBooking()).isNull();
+        assertThat(itemDto.getNextBooking()).isNull();
+    }
+
+    @Test
+    void itemsWithoutApprovedBookingsHaveNoDates() {
+        ItemDtoWithComments itemDto = itemService.getItemById(owner.getId(), onlyPendingItem.getId());
+
+        assertThat(itemDto.getLastBooking()).isNull();
+        assertThat(itemDto.getNextBooking()).isNull();
+    }
+}
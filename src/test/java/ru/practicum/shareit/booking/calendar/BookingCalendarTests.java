@@ -0,0 +1,63 @@
+package ru.practicum.shareit.booking.calendar;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import ru.practicum.shareit.booking.BookingService;
+import ru.practicum.shareit.booking.dto.ResponseBookingDto;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.UserRepository;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static ru.practicum.shareit.TestFixtures.bookingRequest;
+import static ru.practicum.shareit.TestFixtures.item;
+import static ru.practicum.shareit.TestFixtures.user;
+
+@SpringBootTest
+class BookingCalendarTests {
+    final LocalDateTime day = LocalDateTime.now().plusDays(20).truncatedTo(ChronoUnit.DAYS);
+
+    @Autowired
+    BookingCalendar bookingCalendar;
+    @Autowired
+    BookingService bookingService;
+    @Autowired
+    ItemRepository itemRepository;
+    @Autowired
+    UserRepository userRepository;
+
+    User booker;
+    Item item;
+
+    @BeforeEach
+    void setUp() {
+        User owner = userRepository.save(user("owner"));
+        booker = userRepository.save(user("booker"));
+        item = itemRepository.save(item(owner, "tandem"));
+    }
+
+    @Test
+    void bookingEventsPatchCalendarWithoutExtendingItsExpiry() throws InterruptedException {
+        assertThat(bookingCalendar.getBusySlots(item.getId(), day, day.plusDays(1))).isEmpty();
+        long loadedExpiry = expiresAfterNanos();
+        TimeUnit.MILLISECONDS.sleep(50);
+
+        ResponseBookingDto booking = bookingService.createBooking(booker.getId(),
+            bookingRequest(item.getId(), day.plusHours(10), day.plusHours(12)));
+
+        assertThat(bookingCalendar.getBusySlots(item.getId(), day, day.plusDays(1)))
+            .extracting(BookingSlot::getBookingId).containsExactly(booking.getId());
+        assertThat(expiresAfterNanos()).isLessThanOrEqualTo(loadedExpiry - TimeUnit.MILLISECONDS.toNanos(50));
+    }
+
+    private long expiresAfterNanos() {
+        return bookingCalendar.getExpiresAfter(item.getId()).orElseThrow().toNanos();
+    }
+}
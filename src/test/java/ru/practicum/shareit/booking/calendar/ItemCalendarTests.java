@@ -0,0 +1,142 @@
+package ru.practicum.shareit.booking.calendar;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ItemCalendarTests {
+    static final LocalDateTime DAY = LocalDateTime.of(2030, 1, 1, 0, 0);
+
+    @Test
+    void busySlotsUseHalfOpenIntervals() {
+        ItemCalendar calendar = ItemCalendar.of(List.of(slot(1, 10, 12)));
+
+        assertThat(calendar.busySlots(at(8), at(10))).isEmpty();
+        assertThat(calendar.busySlots(at(12), at(14))).isEmpty();
+        assertThat(calendar.busySlots(at(9), at(11))).hasSize(1);
+        assertThat(calendar.busySlots(at(11), at(13))).hasSize(1);
+        assertThat(calendar.busySlots(at(10, 30), at(11))).hasSize(1);
+        assertThat(calendar.busySlots(at(8), at(14))).hasSize(1);
+    }
+
+    @Test
+    void emptyCalendarHasNoBusySlots() {
+        ItemCalendar calendar = ItemCalendar.of(List.of());
+
+        assertThat(calendar.busySlots(at(0), at(23))).isEmpty();
+    }
+
+    @Test
+    void longEarlyBookingIsFoundThroughSubtreeMaxEnds() {
+        // the first booking starts earliest but outlasts the short ones after it
+        ItemCalendar calendar = ItemCalendar.of(List.of(slot(1, 1, 22), slot(2, 2, 3), slot(3, 4, 5)));
+
+        assertThat(calendar.busySlots(at(20), at(21))).extracting(BookingSlot::getBookingId).containsExactly(1L);
+        assertThat(calendar.root.maxEnd).isEqualTo(micros(22));
+    }
+
+    @Test
+    void longBookingDoesNotTurnLookupsIntoScans() {
+        int shortBookings = 4_096;
+        List<BookingSlot> slots = new ArrayList<>();
+        slots.add(new BookingSlot(0, DAY, DAY.plusHours(shortBookings + 1)));
+        for (int i = 1; i <= shortBookings; i++) {
+            slots.add(new BookingSlot(i, DAY.plusHours(i), DAY.plusHours(i).plusMinutes(30)));
+        }
+        ItemCalendar calendar = ItemCalendar.of(slots);
+
+        List<BookingSlot> busy = calendar.busySlots(DAY.plusHours(3_000).plusMinutes(40),
+            DAY.plusHours(3_000).plusMinutes(50));
+
+        assertThat(busy).extracting(BookingSlot::getBookingId).containsExactly(0L);
+        assertThat(calendar.visitedNodes).isLessThanOrEqualTo(4 * calendar.height());
+
+        assertThat(calendar.busySlots(DAY.plusHours(3_000), DAY.plusHours(3_003)))
+            .extracting(BookingSlot::getBookingId).containsExactly(0L, 3_000L, 3_001L, 3_002L);
+        assertThat(calendar.visitedNodes).isLessThanOrEqualTo(4 * 4 * calendar.height());
+    }
+
+    @Test
+    void busySlotsAreOrderedByStartAndClippedToCandidates() {
+        ItemCalendar calendar = ItemCalendar.of(List.of(slot(1, 1, 2), slot(2, 3, 6), slot(3, 5, 7),
+            slot(4, 8, 9)));
+
+        assertThat(calendar.busySlots(at(4), at(8))).extracting(BookingSlot::getBookingId).containsExactly(2L, 3L);
+        assertThat(calendar.busySlots(at(4), at(8)).get(0))
+            .isEqualTo(new BookingSlot(2, at(3), at(6)));
+    }
+
+    @Test
+    void putKeepsSlotsSortedAndReplacesExistingBooking() {
+        ItemCalendar calendar = ItemCalendar.of(List.of(slot(1, 10, 11), slot(2, 14, 15)));
+
+        calendar.put(3, at(12), at(13));
+        calendar.put(4, at(1), at(2));
+        assertThat(calendar.busySlots(at(0), at(23))).extracting(BookingSlot::getBookingId)
+            .containsExactly(4L, 1L, 3L, 2L);
+
+        calendar.put(4, at(16), at(17));
+        assertThat(calendar.busySlots(at(1), at(2))).isEmpty();
+        assertThat(calendar.busySlots(at(0), at(23))).extracting(BookingSlot::getBookingId)
+            .containsExactly(1L, 3L, 2L, 4L);
+    }
+
+    @Test
+    void removeDropsBookingAndRecomputesMaxEnds() {
+        ItemCalendar calendar = ItemCalendar.of(List.of(slot(1, 1, 22), slot(2, 2, 3)));
+
+        calendar.remove(1);
+        calendar.remove(42);
+
+        assertThat(calendar.size()).isEqualTo(1);
+        assertThat(calendar.busySlots(at(20), at(21))).isEmpty();
+        assertThat(calendar.root.maxEnd).isEqualTo(micros(3));
+    }
+
+    @Test
+    void treeStaysBalancedUnderSortedInsertsAndRemovals() {
+        ItemCalendar calendar = ItemCalendar.of(List.of());
+        List<Long> expected = new ArrayList<>();
+        for (int minute = 1_023; minute >= 0; minute--) {
+            calendar.put(minute, DAY.plusMinutes(minute), DAY.plusMinutes(minute).plusSeconds(30));
+            expected.add(0, (long) minute);
+        }
+        for (long minute = 0; minute < 1_024; minute += 2) {
+            calendar.remove(minute);
+            expected.remove(minute);
+        }
+
+        assertThat(calendar.size()).isEqualTo(512);
+        assertThat(calendar.height()).isLessThanOrEqualTo(14);
+        assertThat(calendar.busySlots(DAY, DAY.plusDays(1))).extracting(BookingSlot::getBookingId)
+            .containsExactlyElementsOf(expected);
+        assertThat(calendar.busySlots(DAY.plusMinutes(6).plusSeconds(30), DAY.plusMinutes(7))).isEmpty();
+    }
+
+    @Test
+    void microsRoundTrip() {
+        LocalDateTime time = LocalDateTime.of(1969, 12, 31, 23, 59, 59, 123_456_000);
+
+        assertThat(ItemCalendar.fromMicros(ItemCalendar.toMicros(time))).isEqualTo(time);
+    }
+
+    private static BookingSlot slot(long bookingId, int startHour, int endHour) {
+        return new BookingSlot(bookingId, at(startHour), at(endHour));
+    }
+
+    private static LocalDateTime at(int hour) {
+        return at(hour, 0);
+    }
+
+    private static LocalDateTime at(int hour, int minute) {
+        return DAY.plusHours(hour).plusMinutes(minute);
+    }
+
+    private static long micros(int hour) {
+        return ItemCalendar.toMicros(at(hour));
+    }
+}
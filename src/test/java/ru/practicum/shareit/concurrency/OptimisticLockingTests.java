@@ -0,0 +1,138 @@
+package ru.practicum.shareit.concurrency;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.event.EventListener;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.BookingService;
+import ru.practicum.shareit.booking.dto.RequestBookingDto;
+import ru.practicum.shareit.booking.event.BookingChangedEvent;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.ItemService;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.event.ItemSavedEvent;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.UserRepository;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static ru.practicum.shareit.TestFixtures.bookingRequest;
+import static ru.practicum.shareit.TestFixtures.item;
+import static ru.practicum.shareit.TestFixtures.user;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class OptimisticLockingTests {
+    static final String USER_ID_HEADER = "X-Sharer-User-Id";
+
+    @Autowired
+    MockMvc mockMvc;
+    @Autowired
+    ItemService itemService;
+    @Autowired
+    BookingService bookingService;
+    @Autowired
+    ItemRepository itemRepository;
+    @Autowired
+    BookingRepository bookingRepository;
+    @Autowired
+    UserRepository userRepository;
+    @Autowired
+    ConflictInjector conflictInjector;
+    @Autowired
+    MeterRegistry meterRegistry;
+
+    User owner;
+    User booker;
+    Item item;
+
+    @BeforeEach
+    void setUp() {
+        owner = userRepository.save(user("owner"));
+        booker = userRepository.save(user("booker"));
+        item = itemRepository.save(item(owner, "ladder"));
+    }
+
+    @Test
+    void conflictingItemUpdateIsRetriedAndMerged() {
+        double retriesBefore = meterRegistry.counter("shareit.retry.conflicts").count();
+        conflictInjector.injectOnce(() -> {
+            Item concurrent = itemRepository.findById(item.getId()).orElseThrow();
+            concurrent.setName("step ladder");
+            itemRepository.save(concurrent);
+        });
+
+        ItemDto itemDto = new ItemDto();
+        itemDto.setDescription("three metre ladder");
+        itemService.updateItem(item.getId(), owner.getId(), itemDto);
+
+        Item updated = itemRepository.findById(item.getId()).orElseThrow();
+        assertThat(updated.getName()).isEqualTo("step ladder");
+        assertThat(updated.getDescription()).isEqualTo("three metre ladder");
+        assertThat(updated.getVersion()).isEqualTo(2);
+        assertThat(meterRegistry.counter("shareit.retry.conflicts").count()).isEqualTo(retriesBefore + 1);
+    }
+
+    @Test
+    void conflictingReviewIsRejectedWithConflict() throws Exception {
+        RequestBookingDto requestBookingDto = bookingRequest(item.getId(), LocalDateTime.now().plusDays(1),
+            LocalDateTime.now().plusDays(2));
+        long bookingId = bookingService.createBooking(booker.getId(), requestBookingDto).getId();
+        conflictInjector.injectOnce(() -> bookingService.reviewBooking(owner.getId(), bookingId, false));
+
+        mockMvc.perform(patch("/bookings/{bookingId}", bookingId)
+                .header(USER_ID_HEADER, owner.getId())
+                .param("approved", "true"))
+            .andExpect(status().isConflict());
+
+        assertThat(bookingRepository.findById(bookingId)).get()
+            .extracting("status").isEqualTo(BookingStatus.REJECTED);
+    }
+
+
+    @TestConfiguration
+    static class ConflictConfig {
+        @Bean
+        ConflictInjector conflictInjector(PlatformTransactionManager transactionManager) {
+            return new ConflictInjector(transactionManager);
+        }
+    }
+
+    static class ConflictInjector {
+        final AtomicReference<Runnable> pending = new AtomicReference<>();
+        final TransactionTemplate newTransaction;
+
+        ConflictInjector(PlatformTransactionManager transactionManager) {
+            newTransaction = new TransactionTemplate(transactionManager);
+            newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        }
+
+        void injectOnce(Runnable conflictingWrite) {
+            pending.set(conflictingWrite);
+        }
+
+        @EventListener({ItemSavedEvent.class, BookingChangedEvent.class})
+        public void onChange() {
+            Runnable conflictingWrite = pending.getAndSet(null);
+            if (conflictingWrite != null) {
+                newTransaction.executeWithoutResult(status -> conflictingWrite.run());
+            }
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package ru.practicum.shareit.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ReplicaRouterTests {
+    static final String PRIMARY_URL = "jdbc:h2:mem:router-primary;DB_CLOSE_DELAY=-1";
+    static final String REPLICA_URL = "jdbc:h2:mem:router-replica;DB_CLOSE_DELAY=-1";
+
+    static volatile CountDownLatch lagQueryEntered = new CountDownLatch(0);
+    static volatile CountDownLatch lagQueryReleased = new CountDownLatch(0);
+
+    ReplicaRouter router;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        HikariDataSource replica = new HikariDataSource();
+        replica.setJdbcUrl(REPLICA_URL);
+        replica.setPoolName("replica-0");
+        replica.setMaximumPoolSize(4);
+        try (Connection connection = replica.getConnection(); Statement statement = connection.createStatement()) {
+            statement.execute("create alias if not exists replica_lag for \"" + LagFunction.class.getName() + ".lag\"");
+        }
+
+        ReplicaProperties properties = new ReplicaProperties();
+        properties.setCheckInterval(Duration.ZERO);
+        properties.setLagQuery("select replica_lag()");
+        router = new ReplicaRouter(new DriverManagerDataSource(PRIMARY_URL), List.of(replica), properties,
+            new SimpleMeterRegistry());
+    }
+
+    @AfterEach
+    void tearDown() {
+        lagQueryReleased.countDown();
+        router.close();
+    }
+
+    @Test
+    void slowLagCheckDoesNotBlockOtherReaders() throws Exception {
+        assertThat(readOnlyConnectionUrl().get(5, TimeUnit.SECONDS)).startsWith("jdbc:h2:mem:router-replica");
+
+        lagQueryEntered = new CountDownLatch(1);
+        lagQueryReleased = new CountDownLatch(1);
+        CompletableFuture<String> checking = readOnlyConnectionUrl();
+        assertThat(lagQueryEntered.await(5, TimeUnit.SECONDS)).isTrue();
+
+        assertThat(readOnlyConnectionUrl().get(1, TimeUnit.SECONDS)).startsWith("jdbc:h2:mem:router-replica");
+        assertThat(checking).isNotDone();
+
+        lagQueryReleased.countDown();
+        assertThat(checking.get(5, TimeUnit.SECONDS)).startsWith("jdbc:h2:mem:router-replica");
+    }
+
+    private CompletableFuture<String> readOnlyConnectionUrl() {
+        return CompletableFuture.supplyAsync(() -> {
+            TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+            try (Connection connection = router.getConnection()) {
+                return connection.getMetaData().getURL();
+            } catch (SQLException e) {
+                throw new IllegalStateException(e);
+            } finally {
+                TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+            }
+        });
+    }
+
+    /**
+     * Lag query body registered as an H2 function; blocks while a test holds {@link #lagQueryReleased}.
+     */
+    public static final class LagFunction {
+        private LagFunction() {
+        }
+
+        public static int lag() throws InterruptedException {
+            lagQueryEntered.countDown();
+            lagQueryReleased.await(10, TimeUnit.SECONDS);
+            return 0;
+        }
+    }
+}
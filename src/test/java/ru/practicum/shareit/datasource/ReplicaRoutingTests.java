@@ -0,0 +1,73 @@
+package ru.practicum.shareit.datasource;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import ru.practicum.shareit.user.UserService;
+import ru.practicum.shareit.user.dto.UserDto;
+
+import javax.sql.DataSource;
+
+import static ru.practicum.shareit.TestFixtures.userDto;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:routing-primary",
+    "shareit.datasource.replicas[0].url=" + ReplicaRoutingTests.REPLICA_URL,
+    "shareit.datasource.replicas[0].username=shareit",
+    "shareit.datasource.replicas[0].password=shareit",
+    "shareit.datasource.check-interval=0s",
+    "shareit.datasource.max-lag=5s",
+    "shareit.datasource.lag-query=select coalesce(max(seconds), 0) from replica_lag"
+})
+class ReplicaRoutingTests {
+    static final String REPLICA_URL = "jdbc:h2:mem:routing-replica;DB_CLOSE_DELAY=-1;" +
+        "INIT=RUNSCRIPT FROM 'classpath:replica-schema.sql'";
+
+    @Autowired
+    UserService userService;
+    @Autowired
+    DataSource dataSource;
+    @Autowired
+    MeterRegistry meterRegistry;
+
+    JdbcTemplate replica;
+
+    @BeforeEach
+    void setUp() {
+        replica = new JdbcTemplate(new DriverManagerDataSource(REPLICA_URL, "shareit", "shareit"));
+        replica.update("delete from replica_lag");
+        replica.update("delete from users");
+        replica.update("insert into users (id, name, email) values (1000000, 'replica', 'replica@mail.ru')");
+    }
+
+    @Test
+    void readOnlyTransactionsAreRoutedToReplica() {
+        UserDto written = userService.createUser(userDto("primary"));
+
+        assertThat(dataSource).isInstanceOf(ReplicaRoutingDataSource.class);
+        assertThat(userService.getUsers(null, null, null, null).getContent())
+            .extracting(UserDto::getEmail)
+            .contains("replica@mail.ru")
+            .doesNotContain(written.getEmail());
+        assertThat(meterRegistry.get(ReplicaRouter.ROUTE_METRIC).tag("route", "replica-0").counter().count())
+            .isPositive();
+    }
+
+    @Test
+    void laggingReplicaFallsBackToPrimary() {
+        UserDto written = userService.createUser(userDto("lagging"));
+        replica.update("insert into replica_lag (seconds) values (60)");
+
+        assertThat(userService.getUsers(null, null, null, null).getContent())
+            .extracting(UserDto::getEmail)
+            .contains(written.getEmail())
+            .doesNotContain("replica@mail.ru");
+        assertThat(meterRegistry.get(ReplicaRouter.ROUTE_METRIC).tag("route", "primary-fallback").counter().count())
+            .isPositive();
+    }
+}
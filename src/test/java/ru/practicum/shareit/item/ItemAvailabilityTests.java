@@ -0,0 +1,136 @@
+package ru.practicum.shareit.item;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.BookingService;
+import ru.practicum.shareit.booking.dto.ResponseBookingDto;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.UserRepository;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+
+import static org.hamcrest.Matchers.contains;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static ru.practicum.shareit.TestFixtures.booking;
+import static ru.practicum.shareit.TestFixtures.bookingRequest;
+import static ru.practicum.shareit.TestFixtures.item;
+import static ru.practicum.shareit.TestFixtures.user;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class ItemAvailabilityTests {
+    final LocalDateTime day = LocalDateTime.now().plusDays(10).truncatedTo(ChronoUnit.DAYS);
+
+    @Autowired
+    MockMvc mockMvc;
+    @Autowired
+    BookingService bookingService;
+    @Autowired
+    BookingRepository bookingRepository;
+    @Autowired
+    ItemRepository itemRepository;
+    @Autowired
+    UserRepository userRepository;
+
+    User owner;
+    User booker;
+    Item item;
+    Booking approved;
+
+    @BeforeEach
+    void setUp() {
+        owner = userRepository.save(user("owner"));
+        booker = userRepository.save(user("booker"));
+        item = itemRepository.save(item(owner, "canoe"));
+        approved = bookingRepository.save(booking(item, booker, at(10), at(12), BookingStatus.APPROVED));
+        bookingRepository.save(booking(item, booker, at(14), at(15), BookingStatus.WAITING));
+        bookingRepository.save(booking(item, booker, at(16), at(17), BookingStatus.REJECTED));
+    }
+
+    @Test
+    void returnsFreeAndBusySlotsOfActiveBookings() throws Exception {
+        availability(at(8), at(18))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.itemId").value(item.getId()))
+            .andExpect(jsonPath("$.slots[*].start").value(contains(iso(8), iso(10), iso(12), iso(14), iso(15))))
+            .andExpect(jsonPath("$.slots[*].end").value(contains(iso(10), iso(12), iso(14), iso(15), iso(18))))
+            .andExpect(jsonPath("$.slots[*].busy").value(contains(false, true, false, true, false)));
+    }
+
+    @Test
+    void busySlotsAreClippedToTheRequestedWindow() throws Exception {
+        availability(at(11), at(14, 30))
+            .andExpect(jsonPath("$.slots[*].start").value(contains(iso(11), iso(12), iso(14))))
+            .andExpect(jsonPath("$.slots[*].end").value(contains(iso(12), iso(14), iso(14, 30))))
+            .andExpect(jsonPath("$.slots[*].busy").value(contains(true, false, true)));
+    }
+
+    @Test
+    void calendarFollowsBookingEvents() throws Exception {
+        availability(at(18), at(20)).andExpect(jsonPath("$.slots[*].busy").value(contains(false)));
+
+        ResponseBookingDto created = bookingService.createBooking(booker.getId(),
+            bookingRequest(item.getId(), at(18), at(19)));
+        availability(at(18), at(20)).andExpect(jsonPath("$.slots[*].busy").value(contains(true, false)));
+
+        bookingService.reviewBooking(owner.getId(), created.getId(), false);
+        availability(at(18), at(20)).andExpect(jsonPath("$.slots[*].busy").value(contains(false)));
+    }
+
+    @Test
+    void staleCalendarDoesNotRejectBookings() throws Exception {
+        availability(at(10), at(12)).andExpect(jsonPath("$.slots[*].busy").value(contains(true)));
+
+        // another node cancels the booking; this node's calendar never hears about it
+        bookingRepository.delete(approved);
+
+        bookingService.createBooking(booker.getId(), bookingRequest(item.getId(), at(10), at(12)));
+    }
+
+    @Test
+    void unknownItemIsNotFound() throws Exception {
+        mockMvc.perform(get("/items/{itemId}/availability", Long.MAX_VALUE)
+                .param("from", iso(8)).param("to", iso(18)))
+            .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void emptyWindowIsRejected() throws Exception {
+        availability(at(12), at(12)).andExpect(status().isBadRequest());
+    }
+
+    private ResultActions availability(LocalDateTime from, LocalDateTime to) throws Exception {
+        return mockMvc.perform(get("/items/{itemId}/availability", item.getId())
+            .param("from", from.format(DateTimeFormatter.ISO_LOCAL_DATE_TIME))
+            .param("to", to.format(DateTimeFormatter.ISO_LOCAL_DATE_TIME)));
+    }
+
+    private LocalDateTime at(int hour) {
+        return at(hour, 0);
+    }
+
+    private LocalDateTime at(int hour, int minute) {
+        return day.plusHours(hour).plusMinutes(minute);
+    }
+
+    private String iso(int hour) {
+        return iso(hour, 0);
+    }
+
+    private String iso(int hour, int minute) {
+        return at(hour, minute).format(DateTimeFormatter.ISO_LOCAL_DATE_TIME);
+    }
+}
@@ -0,0 +1,100 @@
+package ru.practicum.shareit.item;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.exceptions.NotFoundException;
+import ru.practicum.shareit.item.dto.ItemDtoWithComments;
+import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.UserRepository;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static ru.practicum.shareit.TestFixtures.booking;
+import static ru.practicum.shareit.TestFixtures.item;
+import static ru.practicum.shareit.TestFixtures.user;
+
+@SpringBootTest
+class ItemFeedTests {
+    @Autowired
+    ItemFeedService itemFeedService;
+    @Autowired
+    ItemService itemService;
+    @Autowired
+    ItemRepository itemRepository;
+    @Autowired
+    CommentRepository commentRepository;
+    @Autowired
+    BookingRepository bookingRepository;
+    @Autowired
+    UserRepository userRepository;
+
+    User owner;
+    User booker;
+    Item item;
+
+    @BeforeEach
+    void setUp() {
+        owner = userRepository.save(user("owner"));
+        booker = userRepository.save(user("booker"));
+        item = itemRepository.save(item(owner, "tent"));
+
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+        bookingRepository.saveAll(List.of(
+            booking(item, booker, now.minusDays(4), now.minusDays(3), BookingStatus.APPROVED),
+            booking(item, booker, now.minusDays(2), now.minusDays(1), BookingStatus.REJECTED),
+            booking(item, booker, now.plusDays(1), now.plusDays(2), BookingStatus.WAITING),
+            booking(item, booker, now.plusDays(3), now.plusDays(4), BookingStatus.APPROVED)));
+        for (String text : List.of("great tent", "a bit heavy")) {
+            Comment comment = new Comment();
+            comment.setText(text);
+            comment.setItem(item);
+            comment.setAuthor(booker);
+            commentRepository.save(comment);
+        }
+    }
+
+    @Test
+    void ownerFeedMatchesBlockingItemCard() {
+        ItemDtoWithComments feed = itemFeedService.getItemById(owner.getId(), item.getId()).block();
+
+        assertThat(feed).isEqualTo(itemService.getItemById(owner.getId(), item.getId()));
+        assertThat(feed.getLastBooking()).isNotNull();
+        assertThat(feed.getNextBooking()).isNotNull();
+        assertThat(feed.getComments()).hasSize(2);
+    }
+
+    @Test
+    void otherUsersFeedMatchesBlockingItemCard() {
+        ItemDtoWithComments feed = itemFeedService.getItemById(booker.getId(), item.getId()).block();
+
+        assertThat(feed).isEqualTo(itemService.getItemById(booker.getId(), item.getId()));
+        assertThat(feed.getLastBooking()).isNull();
+        assertThat(feed.getNextBooking()).isNull();
+    }
+
+    @Test
+    void itemWithoutApprovedBookingsHasNoDates() {
+        Item unbooked = itemRepository.save(item(owner, "stove"));
+
+        ItemDtoWithComments feed = itemFeedService.getItemById(owner.getId(), unbooked.getId()).block();
+
+        assertThat(feed).isEqualTo(itemService.getItemById(owner.getId(), unbooked.getId()));
+        assertThat(feed.getComments()).isEmpty();
+    }
+
+    @Test
+    void unknownItemIsNotFound() {
+        assertThatThrownBy(() -> itemFeedService.getItemById(owner.getId(), Long.MAX_VALUE).block())
+            .isInstanceOf(NotFoundException.class);
+    }
+}
@@ -0,0 +1,141 @@
+package ru.practicum.shareit.item;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.item.dto.ItemDtoWithComments;
+import ru.practicum.shareit.item.dto.ResponseCommentDto;
+import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.UserRepository;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static ru.practicum.shareit.TestFixtures.booking;
+import static ru.practicum.shareit.TestFixtures.item;
+import static ru.practicum.shareit.TestFixtures.user;
+
+@SpringBootTest
+class ItemOwnerListingTests {
+    static final int ITEMS = 30;
+
+    @Autowired
+    ItemService itemService;
+    @Autowired
+    ItemRepository itemRepository;
+    @Autowired
+    CommentRepository commentRepository;
+    @Autowired
+    BookingRepository bookingRepository;
+    @Autowired
+    UserRepository userRepository;
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
+
+    User owner;
+    User booker;
+    List<Item> items;
+
+    @BeforeEach
+    void setUp() {
+        owner = userRepository.save(user("owner"));
+        booker = userRepository.save(user("booker"));
+        User stranger = userRepository.save(user("stranger"));
+
+        List<Item> ownItems = new ArrayList<>();
+        for (int i = 0; i < ITEMS; i++) {
+            ownItems.add(item(owner, "item " + i));
+        }
+        items = itemRepository.saveAll(ownItems);
+        Item strangersItem = itemRepository.save(item(stranger, "not mine"));
+
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < ITEMS; i += 2) {
+            Item item = items.get(i);
+            bookingRepository.save(booking(item, booker, now.minusDays(2), now.minusDays(1),
+                BookingStatus.APPROVED));
+            bookingRepository.save(booking(item, booker, now.plusDays(1), now.plusDays(2),
+                BookingStatus.APPROVED));
+            comment(item, "first on " + item.getName());
+            comment(item, "second on " + item.getName());
+        }
+        comment(strangersItem, "stranger's comment");
+    }
+
+    @Test
+    void commentsAreGroupedByItem() {
+        Map<Long, ItemDtoWithComments> listing = listing();
+
+        assertThat(listing).hasSize(ITEMS).doesNotContainKey(null);
+        for (int i = 0; i < ITEMS; i++) {
+            Item item = items.get(i);
+            List<ResponseCommentDto> comments = listing.get(item.getId()).getComments();
+            if (i % 2 == 0) {
+                assertThat(comments).extracting(ResponseCommentDto::getText)
+                    .containsExactlyInAnyOrder("first on " + item.getName(), "second on " + item.getName());
+            } else {
+                assertThat(comments).isNotNull().isEmpty();
+            }
+        }
+    }
+
+    @Test
+    void bookingDatesComeFromTheAggregate() {
+        Map<Long, ItemDtoWithComments> listing = listing();
+
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < ITEMS; i++) {
+            ItemDtoWithComments itemDto = listing.get(items.get(i).getId());
+            if (i % 2 == 0) {
+                assertThat(itemDto.getLastBooking()).isBefore(now);
+                assertThat(itemDto.getNextBooking()).isAfter(now);
+            } else {
+                assertThat(itemDto.getLastBooking()).isNull();
+                assertThat(itemDto.getNextBooking()).isNull();
+            }
+        }
+    }
+
+    @Test
+    void listingRunsAFixedNumberOfStatements() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        itemService.getItems(owner.getId());
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(3);
+    }
+
+    @Test
+    void ownerWithoutItemsGetsEmptyListing() {
+        User newcomer = userRepository.save(user("newcomer"));
+
+        assertThat(itemService.getItems(newcomer.getId())).isEmpty();
+    }
+
+    Map<Long, ItemDtoWithComments> listing() {
+        return itemService.getItems(owner.getId()).stream()
+            .collect(Collectors.toMap(ItemDtoWithComments::getId, Function.identity()));
+    }
+
+    void comment(Item item, String text) {
+        Comment comment = new Comment();
+        comment.setItem(item);
+        comment.setAuthor(booker);
+        comment.setText(text);
+        commentRepository.save(comment);
+    }
+}
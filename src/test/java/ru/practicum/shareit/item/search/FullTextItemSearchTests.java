@@ -0,0 +1,44 @@
+package ru.practicum.shareit.item.search;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import ru.practicum.shareit.item.ItemRepository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+class FullTextItemSearchTests {
+
+    @ParameterizedTest
+    @CsvSource(delimiter = '|', value = {
+        "drill|drill:*",
+        "Power DRILL|power:* & drill:*",
+        "drill drill DRILL|drill:*",
+        "'drill & !saw | (hammer)'|drill:* & saw:* & hammer:*",
+        "'saw:* <-> blade'|saw:* & blade:*",
+        "'o''reilly'|o:* & reilly:*",
+        "Дрель-2000|дрель:* & 2000:*"
+    })
+    void prefixQueryKeepsOnlyWordTokens(String text, String query) {
+        assertThat(FullTextItemSearch.toPrefixQuery(text)).isEqualTo(query);
+    }
+
+    @Test
+    void operatorOnlyTextProducesNoQuery() {
+        assertThat(FullTextItemSearch.toPrefixQuery(" & | ! :* () '")).isEmpty();
+        assertThat(FullTextItemSearch.toPrefixQuery(null)).isEmpty();
+    }
+
+    @Test
+    void emptyQueryDoesNotReachDatabase() {
+        ItemRepository itemRepository = mock(ItemRepository.class);
+
+        assertThat(new FullTextItemSearch(itemRepository).search("&&", 10)).isEmpty();
+        verify(itemRepository, never()).searchFullText(anyString(), anyInt());
+    }
+}
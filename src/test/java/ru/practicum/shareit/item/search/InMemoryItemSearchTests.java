@@ -0,0 +1,51 @@
+package ru.practicum.shareit.item.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.event.ItemDeletedEvent;
+import ru.practicum.shareit.item.event.ItemSavedEvent;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+class InMemoryItemSearchTests {
+    InMemoryItemSearch itemSearch;
+
+    @BeforeEach
+    void setUp() {
+        itemSearch = new InMemoryItemSearch(mock(ItemRepository.class));
+        itemSearch.onItemSaved(new ItemSavedEvent(item(1, "Saw", "cuts wood", true)));
+        itemSearch.onItemSaved(new ItemSavedEvent(item(2, "Drill", "power tool", true)));
+        itemSearch.onItemSaved(new ItemSavedEvent(item(3, "Hammer", "goes with a drill", true)));
+        itemSearch.onItemSaved(new ItemSavedEvent(item(4, "Drill bit", "spare", false)));
+    }
+
+    @Test
+    void searchMatchesPrefixesAndRanksNameMatchesFirst() {
+        assertThat(itemSearch.search("DRI", 10)).extracting(ItemDto::getId).containsExactly(2L, 3L);
+        assertThat(itemSearch.search("dri", 1)).extracting(ItemDto::getId).containsExactly(2L);
+        assertThat(itemSearch.search("drill with", 10)).extracting(ItemDto::getId).containsExactly(3L);
+        assertThat(itemSearch.search("nothing", 10)).isEmpty();
+    }
+
+    @Test
+    void updatesAndDeletesAreReflectedIncrementally() {
+        itemSearch.onItemSaved(new ItemSavedEvent(item(2, "Screwdriver", "power tool", true)));
+        itemSearch.onItemSaved(new ItemSavedEvent(item(4, "Drill bit", "spare", true)));
+        itemSearch.onItemDeleted(new ItemDeletedEvent(3));
+
+        assertThat(itemSearch.search("drill", 10)).extracting(ItemDto::getId).containsExactly(4L);
+        assertThat(itemSearch.search("screw", 10)).extracting(ItemDto::getId).containsExactly(2L);
+    }
+
+    private ItemDto item(long id, String name, String description, boolean available) {
+        ItemDto itemDto = new ItemDto();
+        itemDto.setId(id);
+        itemDto.setName(name);
+        itemDto.setDescription(description);
+        itemDto.setAvailable(available);
+        return itemDto;
+    }
+}
@@ -0,0 +1,34 @@
+package ru.practicum.shareit.item.search;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import ru.practicum.shareit.item.ItemRepository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+class ItemSearchEngineTests {
+    final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+        .withBean(ItemRepository.class, () -> mock(ItemRepository.class))
+        .withUserConfiguration(LikeItemSearch.class, FullTextItemSearch.class, InMemoryItemSearch.class);
+
+    @ParameterizedTest
+    @CsvSource({
+        "like, ru.practicum.shareit.item.search.LikeItemSearch",
+        "fulltext, ru.practicum.shareit.item.search.FullTextItemSearch",
+        "memory, ru.practicum.shareit.item.search.InMemoryItemSearch"
+    })
+    void engineIsSelectedByProperty(String engine, Class<?> engineClass) {
+        contextRunner.withPropertyValues(ItemSearch.ENGINE_PROPERTY + "=" + engine)
+            .run(context -> assertThat(context).hasSingleBean(ItemSearch.class)
+                .getBean(ItemSearch.class).isInstanceOf(engineClass));
+    }
+
+    @Test
+    void likeIsTheDefaultEngine() {
+        contextRunner.run(context -> assertThat(context).hasSingleBean(ItemSearch.class)
+            .getBean(ItemSearch.class).isInstanceOf(LikeItemSearch.class));
+    }
+}
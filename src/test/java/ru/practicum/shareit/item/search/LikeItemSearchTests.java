@@ -0,0 +1,91 @@
+package ru.practicum.shareit.item.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import ru.practicum.shareit.exceptions.ValidationException;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.ItemService;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.UserRepository;
+import ru.practicum.shareit.user.model.User;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static ru.practicum.shareit.TestFixtures.item;
+import static ru.practicum.shareit.TestFixtures.user;
+
+@SpringBootTest
+class LikeItemSearchTests {
+    @Autowired
+    ItemSearch itemSearch;
+    @Autowired
+    ItemService itemService;
+    @Autowired
+    ItemRepository itemRepository;
+    @Autowired
+    UserRepository userRepository;
+
+    User owner;
+    final String marker = "mark" + System.nanoTime();
+    Item inDescription;
+    Item inName;
+    Item inBoth;
+    Item secondInName;
+
+    @BeforeEach
+    void setUp() {
+        owner = userRepository.save(user("owner"));
+        inDescription = save("Saw", "comes with a " + marker, true);
+        inName = save(marker + " Drill", "power tool", true);
+        inBoth = save("Big " + marker.toUpperCase(), "the " + marker + " you need", true);
+        save("Old " + marker, "broken", false);
+        secondInName = save("Small " + marker, "cordless", true);
+    }
+
+    @Test
+    void likeSearchIsTheTestEngine() {
+        assertThat(itemSearch).isInstanceOf(LikeItemSearch.class);
+    }
+
+    @Test
+    void nameMatchesComeFirstThenIdOrder() {
+        assertThat(itemSearch.search(marker, 10)).extracting(ItemDto::getId)
+            .containsExactly(inName.getId(), inBoth.getId(), secondInName.getId(), inDescription.getId());
+    }
+
+    @Test
+    void searchIsCaseInsensitiveAndLimited() {
+        assertThat(itemSearch.search(marker.toUpperCase(), 2)).extracting(ItemDto::getId)
+            .containsExactly(inName.getId(), inBoth.getId());
+    }
+
+    @Test
+    void blankTextFindsNothing() {
+        assertThat(itemService.searchItems("   ", 10)).isEmpty();
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {-1, 0, ItemSearch.MAX_LIMIT + 1})
+    void searchSizeOutsideBoundsIsRejected(int size) {
+        assertThatThrownBy(() -> itemService.searchItems(marker, size))
+            .isInstanceOf(ValidationException.class)
+            .hasMessageContaining(String.valueOf(ItemSearch.MAX_LIMIT));
+    }
+
+    @Test
+    void maximumSearchSizeIsAccepted() {
+        assertThat(itemService.searchItems(marker, ItemSearch.MAX_LIMIT)).hasSize(4);
+    }
+
+    Item save(String name, String description, boolean available) {
+        Item item = item(owner, name);
+        item.setDescription(description);
+        item.setAvailable(available);
+        return itemRepository.save(item);
+    }
+}
@@ -0,0 +1,220 @@
+package ru.practicum.shareit.metrics;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.search.Search;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockAsyncContext;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.UserRepository;
+import ru.practicum.shareit.user.model.User;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static ru.practicum.shareit.TestFixtures.booking;
+import static ru.practicum.shareit.TestFixtures.item;
+import static ru.practicum.shareit.TestFixtures.user;
+import static ru.practicum.shareit.TestFixtures.userDto;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class RequestMetricsFilterTests {
+    static final String USER_ID_HEADER = "X-Sharer-User-Id";
+
+    @Autowired
+    MockMvc mockMvc;
+    @Autowired
+    ObjectMapper objectMapper;
+    @Autowired
+    MeterRegistry meterRegistry;
+    @Autowired
+    SqlStatementCounter sqlStatementCounter;
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
+    @Autowired
+    BookingRepository bookingRepository;
+    @Autowired
+    ItemRepository itemRepository;
+    @Autowired
+    UserRepository userRepository;
+
+    User owner;
+    User booker;
+
+    @BeforeEach
+    void setUp() {
+        owner = userRepository.save(user("owner"));
+        booker = userRepository.save(user("booker"));
+        Item item = itemRepository.save(item(owner, "kayak"));
+        LocalDateTime start = LocalDateTime.now().minusYears(1);
+        bookingRepository.saveAll(List.of(
+            booking(item, booker, start, start.plusDays(1), BookingStatus.APPROVED),
+            booking(item, booker, start.plusDays(2), start.plusDays(3), BookingStatus.APPROVED)));
+    }
+
+    @Test
+    void counterCountsOnlyStatementsOfTheBoundRequest() {
+        AtomicInteger statements = new AtomicInteger();
+
+        sqlStatementCounter.inspect("select 1");
+        sqlStatementCounter.bind(statements);
+        sqlStatementCounter.inspect("select 1");
+        sqlStatementCounter.inspect("select 2");
+        sqlStatementCounter.unbind();
+        sqlStatementCounter.inspect("select 3");
+
+        assertThat(statements).hasValue(2);
+    }
+
+    @Test
+    void synchronousRequestRecordsStatementsAndSizesUnderRoutePattern() throws Exception {
+        Snapshot statements = snapshot(RequestMetricsFilter.SQL_STATEMENTS, "GET", "/bookings/owner");
+        Snapshot responseSize = snapshot(RequestMetricsFilter.RESPONSE_SIZE, "GET", "/bookings/owner");
+        long prepared = statistics().getPrepareStatementCount();
+
+        MvcResult result = mockMvc.perform(get("/bookings/owner").header(USER_ID_HEADER, owner.getId()))
+            .andExpect(status().isOk())
+            .andReturn();
+
+        long expected = statistics().getPrepareStatementCount() - prepared;
+        assertThat(expected).isPositive();
+        assertThat(statements.recorded()).isEqualTo(1);
+        assertThat(statements.total()).isEqualTo(expected);
+        assertThat(responseSize.recorded()).isEqualTo(1);
+        assertThat(responseSize.total()).isEqualTo(result.getResponse().getContentAsByteArray().length);
+    }
+
+    @Test
+    void requestPayloadIsRecorded() throws Exception {
+        String body = objectMapper.writeValueAsString(userDto("metrics"));
+        Snapshot requestSize = snapshot(RequestMetricsFilter.REQUEST_SIZE, "POST", "/users", null);
+
+        mockMvc.perform(post("/users").contentType("application/json").content(body))
+            .andExpect(status().isOk());
+
+        assertThat(requestSize.recorded()).isEqualTo(1);
+        assertThat(requestSize.total()).isEqualTo(body.getBytes(StandardCharsets.UTF_8).length);
+    }
+
+    @Test
+    void streamedExportCountsStatementsRunOnTheAsyncThread() throws Exception {
+        Snapshot statements = snapshot(RequestMetricsFilter.SQL_STATEMENTS, "GET", "/bookings/owner/export");
+        long prepared = statistics().getPrepareStatementCount();
+
+        MvcResult result = mockMvc.perform(get("/bookings/owner/export").header(USER_ID_HEADER, owner.getId()))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+        mockMvc.perform(asyncDispatch(result)).andExpect(status().isOk());
+
+        long expected = statistics().getPrepareStatementCount() - prepared;
+        assertThat(statements.recorded()).isEqualTo(1);
+        assertThat(statements.total()).isEqualTo(expected);
+        assertThat(expected).isGreaterThan(1);
+    }
+
+    @Test
+    void reactiveFeedRecordsNoStatementCount() throws Exception {
+        Snapshot statements = snapshot(RequestMetricsFilter.SQL_STATEMENTS, "GET", "/feed/bookings/owner");
+
+        MvcResult result = mockMvc.perform(get("/feed/bookings/owner").header(USER_ID_HEADER, owner.getId()))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+        mockMvc.perform(asyncDispatch(result)).andExpect(status().isOk());
+
+        assertThat(statements.recorded()).isZero();
+    }
+
+    @Test
+    void timedOutExportIsRecordedOnceWithItsOutcome() throws Exception {
+        Snapshot timedOut = snapshot(RequestMetricsFilter.SQL_STATEMENTS, "GET", "/bookings/owner/export",
+            RequestMetricsFilter.OUTCOME_TIMEOUT);
+        Snapshot completed = snapshot(RequestMetricsFilter.SQL_STATEMENTS, "GET", "/bookings/owner/export");
+        Snapshot responseSize = snapshot(RequestMetricsFilter.RESPONSE_SIZE, "GET", "/bookings/owner/export",
+            RequestMetricsFilter.OUTCOME_TIMEOUT);
+
+        MvcResult result = mockMvc.perform(get("/bookings/owner/export").header(USER_ID_HEADER, owner.getId()))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+        MockAsyncContext asyncContext = (MockAsyncContext) result.getRequest().getAsyncContext();
+        for (AsyncListener listener : asyncContext.getListeners()) {
+            if (listener.getClass().getEnclosingClass() == RequestMetricsFilter.class) {
+                listener.onTimeout(new AsyncEvent(asyncContext));
+            }
+        }
+        mockMvc.perform(asyncDispatch(result)).andExpect(status().isOk());
+
+        assertThat(timedOut.recorded()).isEqualTo(1);
+        assertThat(responseSize.recorded()).isEqualTo(1);
+        assertThat(completed.recorded()).isZero();
+    }
+
+    private Statistics statistics() {
+        return entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    private Snapshot snapshot(String name, String method, String uri) {
+        return snapshot(name, method, uri, RequestMetricsFilter.OUTCOME_COMPLETED);
+    }
+
+    private Snapshot snapshot(String name, String method, String uri, String outcome) {
+        return new Snapshot(name, method, uri, outcome);
+    }
+
+    private class Snapshot {
+        final String name;
+        final String method;
+        final String uri;
+        final String outcome;
+        final long count;
+        final double total;
+
+        Snapshot(String name, String method, String uri, String outcome) {
+            this.name = name;
+            this.method = method;
+            this.uri = uri;
+            this.outcome = outcome;
+            DistributionSummary summary = summary();
+            this.count = summary == null ? 0 : summary.count();
+            this.total = summary == null ? 0 : summary.totalAmount();
+        }
+
+        long recorded() {
+            DistributionSummary summary = summary();
+            return summary == null ? 0 : summary.count() - count;
+        }
+
+        double total() {
+            DistributionSummary summary = summary();
+            return summary == null ? 0 : summary.totalAmount() - total;
+        }
+
+        private DistributionSummary summary() {
+            Search search = meterRegistry.find(name).tags("method", method, "uri", uri);
+            return outcome == null ? search.summary() : search.tag(RequestMetricsFilter.OUTCOME, outcome).summary();
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package ru.practicum.shareit.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import ru.practicum.shareit.booking.BookingService;
+import ru.practicum.shareit.booking.model.BookingState;
+import ru.practicum.shareit.exceptions.NotFoundException;
+import ru.practicum.shareit.user.UserRepository;
+import ru.practicum.shareit.user.UserService;
+import ru.practicum.shareit.user.model.User;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static ru.practicum.shareit.TestFixtures.user;
+
+@SpringBootTest
+class ServiceObservationAspectTests {
+    @Autowired
+    MeterRegistry meterRegistry;
+    @Autowired
+    BookingService bookingService;
+    @Autowired
+    UserService userService;
+    @Autowired
+    UserRepository userRepository;
+
+    @Test
+    void successfulCallIsTaggedWithServiceMethodAndState() {
+        User owner = userRepository.save(user("owner"));
+        long before = count("BookingServiceImpl", "getBookingByOwner", "PAST", ServiceObservationAspect.SUCCESS);
+
+        bookingService.getBookingByOwner(owner.getId(), BookingState.PAST, null, 10);
+
+        assertThat(count("BookingServiceImpl", "getBookingByOwner", "PAST", ServiceObservationAspect.SUCCESS))
+            .isEqualTo(before + 1);
+    }
+
+    @Test
+    void failedCallIsTaggedWithExceptionAndNoState() {
+        long before = count("UserServiceImpl", "getUserById", ServiceObservationAspect.NONE, "NotFoundException");
+
+        assertThatThrownBy(() -> userService.getUserById(Long.MAX_VALUE)).isInstanceOf(NotFoundException.class);
+
+        assertThat(count("UserServiceImpl", "getUserById", ServiceObservationAspect.NONE, "NotFoundException"))
+            .isEqualTo(before + 1);
+    }
+
+    private long count(String service, String method, String state, String outcome) {
+        Timer timer = meterRegistry.find(ServiceObservationAspect.OBSERVATION_NAME)
+            .tags("service", service, "method", method, "state", state, "outcome", outcome)
+            .timer();
+        return timer == null ? 0 : timer.count();
+    }
+}
@@ -0,0 +1,204 @@
+package ru.practicum.shareit.notification;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import ru.practicum.shareit.exceptions.ValidationException;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.notification.model.NotificationType;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class NotificationDispatcherTests {
+    final List<Runnable> pendingSends = new CopyOnWriteArrayList<>();
+    final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    NotificationDispatcher dispatcher;
+
+    @BeforeEach
+    void setUp() {
+        NotificationProperties properties = new NotificationProperties();
+        properties.setSubscriberBufferSize(2);
+        properties.setMaxSubscribersPerUser(1);
+        dispatcher = new NotificationDispatcher(properties, pendingSends::add, meterRegistry);
+        dispatcher.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        dispatcher.stop();
+    }
+
+    @Test
+    void slowSubscriberIsDroppedInsteadOfBlockingPublisher() throws InterruptedException {
+        dispatcher.subscribe(1);
+        for (int i = 0; i < 10; i++) {
+            dispatcher.publish(1, NotificationType.ITEM_REQUEST_ANSWERED, null, new ItemDto());
+        }
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (droppedSubscribers() == 0 && System.nanoTime() < deadline) {
+            TimeUnit.MILLISECONDS.sleep(10);
+        }
+
+        assertThat(droppedSubscribers()).isEqualTo(1);
+        assertThat(pendingSends).hasSizeLessThanOrEqualTo(1);
+        assertThat(meterRegistry.get("shareit.notifications.subscribers").gauge().value()).isZero();
+    }
+
+    @Test
+    void subscriptionsPerUserAreLimited() {
+        dispatcher.subscribe(2);
+
+        assertThatThrownBy(() -> dispatcher.subscribe(2)).isInstanceOf(ValidationException.class);
+    }
+
+    @Test
+    void droppingSubscriberDoesNotWaitForItsBlockedSend() throws Exception {
+        ExecutorService executor = Executors.newCachedThreadPool();
+        NotificationProperties properties = new NotificationProperties();
+        properties.setSubscriberBufferSize(2);
+        NotificationDispatcher blockingDispatcher = new NotificationDispatcher(properties, executor, meterRegistry);
+        blockingDispatcher.start();
+        BlockingEmitter slow = new BlockingEmitter();
+        BlockingEmitter other = new BlockingEmitter();
+        try {
+            blockingDispatcher.subscribe(1, slow);
+            blockingDispatcher.subscribe(2, other);
+            slow.blocking = true;
+
+            blockingDispatcher.publish(1, NotificationType.ITEM_REQUEST_ANSWERED, null, new ItemDto());
+            assertThat(slow.sendStarted.await(5, TimeUnit.SECONDS)).isTrue();
+            for (int i = 0; i < 10; i++) {
+                blockingDispatcher.publish(1, NotificationType.ITEM_REQUEST_ANSWERED, null, new ItemDto());
+            }
+            blockingDispatcher.publish(2, NotificationType.ITEM_REQUEST_ANSWERED, null, new ItemDto());
+
+            assertThat(other.sent.await(5, TimeUnit.SECONDS)).isTrue();
+            assertThat(droppedSubscribers()).isEqualTo(1);
+            assertThat(slow.completed.getCount()).isEqualTo(1);
+
+            slow.released.countDown();
+            assertThat(slow.completed.await(5, TimeUnit.SECONDS)).isTrue();
+        } finally {
+            slow.released.countDown();
+            blockingDispatcher.stop();
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void concurrentSubscriptionsStayWithinTheLimit() throws Exception {
+        NotificationProperties properties = new NotificationProperties();
+        properties.setMaxSubscribersPerUser(2);
+        MeterRegistry limitedRegistry = new SimpleMeterRegistry();
+        NotificationDispatcher limitedDispatcher = new NotificationDispatcher(properties, pendingSends::add,
+            limitedRegistry);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger subscribed = new AtomicInteger();
+        try {
+            List<Future<?>> attempts = new ArrayList<>();
+            for (int i = 0; i < 32; i++) {
+                attempts.add(executor.submit(() -> {
+                    start.await();
+                    limitedDispatcher.subscribe(3);
+                    return subscribed.incrementAndGet();
+                }));
+            }
+            start.countDown();
+            for (Future<?> attempt : attempts) {
+                try {
+                    attempt.get(5, TimeUnit.SECONDS);
+                } catch (ExecutionException e) {
+                    assertThat(e.getCause()).isInstanceOf(ValidationException.class);
+                }
+            }
+
+            assertThat(subscribed.get()).isEqualTo(2);
+            assertThat(limitedRegistry.get("shareit.notifications.subscribers").gauge().value()).isEqualTo(2);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void failedSubscriptionIsRolledBack() {
+        SseEmitter broken = new SseEmitter() {
+            @Override
+            public void send(SseEventBuilder builder) throws IOException {
+                throw new IOException("connection reset");
+            }
+        };
+
+        assertThatThrownBy(() -> dispatcher.subscribe(4, broken)).isInstanceOf(UncheckedIOException.class);
+
+        assertThat(meterRegistry.get("shareit.notifications.subscribers").gauge().value()).isZero();
+        dispatcher.subscribe(4);
+    }
+
+    @Test
+    void stopCompletesSubscribersOnTheirDrainTask() {
+        BlockingEmitter emitter = new BlockingEmitter();
+        dispatcher.subscribe(5, emitter);
+
+        dispatcher.stop();
+
+        assertThat(emitter.completed.getCount()).isEqualTo(1);
+        pendingSends.forEach(Runnable::run);
+        assertThat(emitter.completed.getCount()).isZero();
+    }
+
+    private double droppedSubscribers() {
+        return meterRegistry.get(NotificationDispatcher.DROPPED_METRIC).tag("reason", "slow_subscriber").counter()
+            .count();
+    }
+
+    /**
+     * Emitter whose sends hold the emitter monitor until released, like a write to a stalled client; {@link #sent}
+     * opens after the subscription comment and one notification.
+     */
+    static class BlockingEmitter extends SseEmitter {
+        final CountDownLatch sendStarted = new CountDownLatch(1);
+        final CountDownLatch released = new CountDownLatch(1);
+        final CountDownLatch sent = new CountDownLatch(2);
+        final CountDownLatch completed = new CountDownLatch(1);
+        volatile boolean blocking;
+
+        @Override
+        public synchronized void send(SseEventBuilder builder) throws IOException {
+            if (blocking) {
+                sendStarted.countDown();
+                try {
+                    released.await(10, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            super.send(builder);
+            sent.countDown();
+        }
+
+        @Override
+        public synchronized void complete() {
+            super.complete();
+            completed.countDown();
+        }
+    }
+}
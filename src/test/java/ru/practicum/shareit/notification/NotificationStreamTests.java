@@ -0,0 +1,92 @@
+package ru.practicum.shareit.notification;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import ru.practicum.shareit.booking.BookingService;
+import ru.practicum.shareit.booking.dto.RequestBookingDto;
+import ru.practicum.shareit.booking.dto.ResponseBookingDto;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.notification.model.NotificationType;
+import ru.practicum.shareit.user.UserRepository;
+import ru.practicum.shareit.user.model.User;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static ru.practicum.shareit.TestFixtures.bookingRequest;
+import static ru.practicum.shareit.TestFixtures.item;
+import static ru.practicum.shareit.TestFixtures.user;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class NotificationStreamTests {
+    @LocalServerPort
+    int port;
+    @Autowired
+    BookingService bookingService;
+    @Autowired
+    ItemRepository itemRepository;
+    @Autowired
+    UserRepository userRepository;
+
+    @Test
+    void ownerAndBookerReceiveBookingEvents() throws Exception {
+        User owner = userRepository.save(user("owner"));
+        User booker = userRepository.save(user("booker"));
+        Item item = itemRepository.save(item(owner, "kayak"));
+
+        HttpClient client = HttpClient.newHttpClient();
+        Iterator<String> ownerEvents = subscribe(client, owner.getId());
+        Iterator<String> bookerEvents = subscribe(client, booker.getId());
+
+        RequestBookingDto requestBookingDto = bookingRequest(item.getId(), LocalDateTime.now().plusDays(1),
+            LocalDateTime.now().plusDays(2));
+        ResponseBookingDto booking = bookingService.createBooking(booker.getId(), requestBookingDto);
+        bookingService.reviewBooking(owner.getId(), booking.getId(), true);
+
+        assertThat(nextEvent(ownerEvents)).isEqualTo(NotificationType.BOOKING_REQUESTED.name());
+        assertThat(nextData(ownerEvents)).contains("\"id\":" + booking.getId());
+        assertThat(nextEvent(bookerEvents)).isEqualTo(NotificationType.BOOKING_APPROVED.name());
+        assertThat(nextData(bookerEvents)).contains("\"status\":\"APPROVED\"");
+    }
+
+    private Iterator<String> subscribe(HttpClient client, long userId) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/notifications"))
+            .header("X-Sharer-User-Id", String.valueOf(userId))
+            .header("Accept", "text/event-stream")
+            .build();
+        CompletableFuture<HttpResponse<Stream<String>>> response = client.sendAsync(request,
+            HttpResponse.BodyHandlers.ofLines());
+        HttpResponse<Stream<String>> headers = response.get(10, TimeUnit.SECONDS);
+        assertThat(headers.statusCode()).isEqualTo(200);
+        return headers.body().iterator();
+    }
+
+    private String nextEvent(Iterator<String> lines) {
+        return next(lines, "event:");
+    }
+
+    private String nextData(Iterator<String> lines) {
+        return next(lines, "data:");
+    }
+
+    private String next(Iterator<String> lines, String prefix) {
+        while (lines.hasNext()) {
+            String line = lines.next();
+            if (line.startsWith(prefix)) {
+                return line.substring(prefix.length());
+            }
+        }
+        throw new AssertionError("Stream closed before " + prefix);
+    }
+}
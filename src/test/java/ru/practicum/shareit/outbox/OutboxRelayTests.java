@@ -0,0 +1,95 @@
+package ru.practicum.shareit.outbox;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.booking.BookingService;
+import ru.practicum.shareit.booking.dto.RequestBookingDto;
+import ru.practicum.shareit.booking.dto.ResponseBookingDto;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.UserRepository;
+import ru.practicum.shareit.user.model.User;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static ru.practicum.shareit.TestFixtures.bookingRequest;
+import static ru.practicum.shareit.TestFixtures.item;
+import static ru.practicum.shareit.TestFixtures.user;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+    "shareit.outbox.sink=file",
+    "shareit.outbox.file=" + OutboxRelayTests.SINK_FILE,
+    "shareit.outbox.batch-size=2"
+})
+class OutboxRelayTests {
+    static final String SINK_FILE = "target/outbox-relay-tests.ndjson";
+
+    @Autowired
+    OutboxRelay outboxRelay;
+    @Autowired
+    OutboxRepository outboxRepository;
+    @Autowired
+    BookingService bookingService;
+    @Autowired
+    ItemRepository itemRepository;
+    @Autowired
+    UserRepository userRepository;
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    User owner;
+    User booker;
+    Item item;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        outboxRelay.relay();
+        Files.deleteIfExists(Path.of(SINK_FILE));
+
+        owner = userRepository.save(user("owner"));
+        booker = userRepository.save(user("booker"));
+        item = itemRepository.save(item(owner, "tent"));
+    }
+
+    @Test
+    void bookingChangesAreRelayedInBatchesAndRemoved() throws IOException {
+        ResponseBookingDto first = bookingService.createBooking(booker.getId(), request(1));
+        ResponseBookingDto second = bookingService.createBooking(booker.getId(), request(3));
+        bookingService.reviewBooking(owner.getId(), first.getId(), true);
+
+        assertThat(outboxRepository.count()).isEqualTo(3);
+
+        outboxRelay.relay();
+
+        List<String> lines = Files.readAllLines(Path.of(SINK_FILE));
+        assertThat(outboxRepository.count()).isZero();
+        assertThat(lines).hasSize(3);
+        assertThat(lines.get(0)).contains("\"eventType\":\"BOOKING_WAITING\"", "\"aggregateId\":" + first.getId());
+        assertThat(lines.get(1)).contains("\"eventType\":\"BOOKING_WAITING\"", "\"aggregateId\":" + second.getId());
+        assertThat(lines.get(2)).contains("\"eventType\":\"BOOKING_APPROVED\"", "\"aggregateId\":" + first.getId());
+    }
+
+    @Test
+    void rolledBackBookingLeavesNoOutboxMessage() {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.executeWithoutResult(status -> {
+            bookingService.createBooking(booker.getId(), request(5));
+            status.setRollbackOnly();
+        });
+
+        assertThat(outboxRepository.count()).isZero();
+    }
+
+    private RequestBookingDto request(int days) {
+        return bookingRequest(item.getId(), LocalDateTime.now().plusDays(days), LocalDateTime.now().plusDays(days + 1));
+    }
+}
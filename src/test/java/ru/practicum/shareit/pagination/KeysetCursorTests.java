@@ -0,0 +1,90 @@
+package ru.practicum.shareit.pagination;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
+import ru.practicum.shareit.exceptions.ValidationException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class KeysetCursorTests {
+    static final List<String> KEYS = List.of("start", "id");
+
+    @Test
+    void encodedPositionDecodesToSameKeys() {
+        Map<String, Object> keys = new LinkedHashMap<>();
+        keys.put("start", LocalDateTime.of(2024, 5, 1, 10, 30, 15));
+        keys.put("id", 42L);
+
+        String cursor = KeysetCursor.encode(ScrollPosition.forward(keys));
+        ScrollPosition position = KeysetCursor.decode(cursor, KEYS);
+
+        assertThat(cursor).doesNotContain("=", "+", "/");
+        assertThat(position).isInstanceOf(KeysetScrollPosition.class);
+        assertThat(((KeysetScrollPosition) position).getKeys()).containsExactlyEntriesOf(keys);
+    }
+
+    @Test
+    void missingCursorStartsFromFirstPage() {
+        assertThat(KeysetCursor.decode(null, KEYS).isInitial()).isTrue();
+        assertThat(KeysetCursor.decode(" ", KEYS).isInitial()).isTrue();
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+        "not base64!",
+        "start=t:2024-05-01T10:30&id=n:1&extra=n:2",
+        "start=t:2024-05-01T10:30",
+        "start=t:2024-05-01T10:30&owner=n:1",
+        "start=t:yesterday&id=n:1",
+        "start=t:2024-05-01T10:30&id=n:abc",
+        "start=x:2024-05-01T10:30&id=n:1",
+        "start&id=n:1"
+    })
+    void tamperedCursorIsRejected(String cursor) {
+        String encoded = cursor.contains("!") ? cursor
+            : Base64.getUrlEncoder().encodeToString(cursor.getBytes(StandardCharsets.UTF_8));
+
+        assertThatThrownBy(() -> KeysetCursor.decode(encoded, KEYS))
+            .isInstanceOf(ValidationException.class)
+            .hasMessage("Invalid cursor");
+    }
+
+    @Test
+    void pageSizeIsBounded() {
+        assertThat(KeysetCursor.limit(1).max()).isEqualTo(1);
+        assertThat(KeysetCursor.limit(KeysetCursor.MAX_PAGE_SIZE).max()).isEqualTo(KeysetCursor.MAX_PAGE_SIZE);
+        assertThatThrownBy(() -> KeysetCursor.limit(0)).isInstanceOf(ValidationException.class);
+        assertThatThrownBy(() -> KeysetCursor.limit(KeysetCursor.MAX_PAGE_SIZE + 1))
+            .isInstanceOf(ValidationException.class);
+    }
+
+    @Test
+    void pageCarriesCursorOfLastElementOnlyWhenMoreRowsExist() {
+        List<Long> ids = List.of(3L, 5L, 8L);
+
+        CursorPage<String> page = KeysetCursor.toPage(Window.from(ids, this::positionOf, true), String::valueOf);
+        CursorPage<String> lastPage = KeysetCursor.toPage(Window.from(ids, this::positionOf, false),
+            String::valueOf);
+
+        assertThat(page.getContent()).containsExactly("3", "5", "8");
+        assertThat(((KeysetScrollPosition) KeysetCursor.decode(page.getNextCursor(), List.of("id"))).getKeys())
+            .containsEntry("id", 8L);
+        assertThat(lastPage.getNextCursor()).isNull();
+    }
+
+    private ScrollPosition positionOf(int index) {
+        return ScrollPosition.forward(Map.of("id", List.of(3L, 5L, 8L).get(index)));
+    }
+}
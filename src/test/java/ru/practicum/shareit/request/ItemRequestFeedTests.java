@@ -0,0 +1,118 @@
+package ru.practicum.shareit.request;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import ru.practicum.shareit.item.ItemService;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.pagination.CursorPage;
+import ru.practicum.shareit.request.dto.RequestItemRequestDto;
+import ru.practicum.shareit.request.dto.ResponseItemRequestDto;
+import ru.practicum.shareit.user.UserCache;
+import ru.practicum.shareit.user.UserRepository;
+import ru.practicum.shareit.user.model.User;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+import static ru.practicum.shareit.TestFixtures.user;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class ItemRequestFeedTests {
+    static final int REQUESTS = 25;
+    static final int PAGE_SIZE = 4;
+
+    @Autowired
+    ItemRequestService itemRequestService;
+    @Autowired
+    ItemService itemService;
+    @Autowired
+    UserRepository userRepository;
+    @Autowired
+    UserCache userCache;
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
+
+    User requestor;
+    User owner;
+    User viewer;
+    List<ResponseItemRequestDto> created;
+
+    @BeforeEach
+    void setUp() {
+        requestor = userRepository.save(user("requestor"));
+        owner = userRepository.save(user("owner"));
+        viewer = userRepository.save(user("viewer"));
+
+        created = new ArrayList<>();
+        for (int i = 0; i < REQUESTS; i++) {
+            RequestItemRequestDto requestItemRequestDto = new RequestItemRequestDto();
+            requestItemRequestDto.setDescription("need a ladder " + i);
+            ResponseItemRequestDto request = itemRequestService.createRequest(requestor.getId(),
+                requestItemRequestDto);
+            created.add(request);
+            for (int answer = 0; answer < i % 3; answer++) {
+                ItemDto itemDto = new ItemDto();
+                itemDto.setName("ladder " + i + "/" + answer);
+                itemDto.setDescription("aluminium ladder");
+                itemDto.setAvailable(true);
+                itemDto.setRequestId(request.getId());
+                itemService.createItem(owner.getId(), itemDto);
+            }
+        }
+    }
+
+    @Test
+    void feedIsPagedNewestFirstWithItemsLoadedPerPage() {
+        userCache.findById(viewer.getId());
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        List<ResponseItemRequestDto> feed = new ArrayList<>();
+        int pages = 0;
+        String cursor = null;
+        do {
+            CursorPage<ResponseItemRequestDto> page = itemRequestService.getAllRequests(viewer.getId(), cursor,
+                PAGE_SIZE);
+            feed.addAll(page.getContent());
+            cursor = page.getNextCursor();
+            pages++;
+        } while (cursor != null);
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2L * pages);
+        assertThat(feed).isSortedAccordingTo(Comparator.comparing(ResponseItemRequestDto::getCreated)
+            .thenComparing(ResponseItemRequestDto::getId).reversed());
+
+        List<Long> ids = created.stream().map(ResponseItemRequestDto::getId).toList();
+        List<ResponseItemRequestDto> own = feed.stream().filter(request -> ids.contains(request.getId())).toList();
+        assertThat(own).hasSize(REQUESTS);
+        for (ResponseItemRequestDto request : own) {
+            int index = ids.indexOf(request.getId());
+            assertThat(request.getItems()).hasSize(index % 3)
+                .allSatisfy(answer -> assertThat(answer.getOwnerId()).isEqualTo(owner.getId()));
+        }
+    }
+
+    @Test
+    void requestorDoesNotSeeOwnRequestsInFeed() {
+        List<Long> newestFirst = new ArrayList<>(created.stream().map(ResponseItemRequestDto::getId).toList());
+        Collections.reverse(newestFirst);
+        List<ResponseItemRequestDto> own = itemRequestService.getOwnRequests(requestor.getId());
+        CursorPage<ResponseItemRequestDto> feed = itemRequestService.getAllRequests(requestor.getId(), null,
+            PAGE_SIZE);
+
+        assertThat(own).extracting(ResponseItemRequestDto::getId)
+            .containsExactlyElementsOf(newestFirst);
+        assertThat(feed.getContent()).extracting(ResponseItemRequestDto::getId)
+            .doesNotContainAnyElementsOf(own.stream().map(ResponseItemRequestDto::getId).toList());
+        assertThat(itemRequestService.getRequestById(viewer.getId(), created.get(2).getId()).getItems())
+            .hasSize(2);
+    }
+}
@@ -0,0 +1,67 @@
+package ru.practicum.shareit.user;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import ru.practicum.shareit.pagination.CursorPage;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.model.User;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class UserDirectoryTests {
+    @Autowired
+    UserService userService;
+    @Autowired
+    UserRepository userRepository;
+
+    @Test
+    void pagesFilteredUsersByKeyset() {
+        String prefix = "dir" + System.nanoTime();
+        List<User> saved = userRepository.saveAll(users(prefix, 5));
+        userRepository.saveAll(users("other" + System.nanoTime(), 3));
+
+        List<Long> ids = new ArrayList<>();
+        String cursor = null;
+        do {
+            CursorPage<UserDto> page = userService.getUsers(prefix, null, cursor, 2);
+            assertThat(page.getContent()).hasSizeLessThanOrEqualTo(2);
+            page.getContent().forEach(userDto -> ids.add(userDto.getId()));
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+
+        assertThat(ids).containsExactlyElementsOf(saved.stream().map(User::getId).toList());
+        assertThat(userService.getUsers(null, "1." + prefix, null, 20).getContent())
+            .extracting(UserDto::getName)
+            .containsExactly(prefix);
+    }
+
+    @Test
+    void unpagedListIsCappedAndExportStreamsEverything() {
+        String prefix = "cap" + System.nanoTime();
+        userRepository.saveAll(users(prefix, UserServiceImpl.UNPAGED_LIMIT + 1));
+
+        CursorPage<UserDto> page = userService.getUsers(prefix, null, null, null);
+        List<UserDto> exported = new ArrayList<>();
+        userService.exportUsers(prefix, null, exported::add);
+
+        assertThat(page.getContent()).hasSize(UserServiceImpl.UNPAGED_LIMIT);
+        assertThat(page.getNextCursor()).isNotNull();
+        assertThat(exported).hasSize(UserServiceImpl.UNPAGED_LIMIT + 1);
+    }
+
+    private List<User> users(String prefix, int count) {
+        List<User> users = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            User user = new User();
+            user.setName(prefix);
+            user.setEmail(i + "." + prefix + "@shareit.ru");
+            users.add(user);
+        }
+        return users;
+    }
+}
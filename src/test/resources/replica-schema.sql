@@ -0,0 +1,5 @@
+RUNSCRIPT FROM 'classpath:schema.sql';
+
+CREATE TABLE IF NOT EXISTS replica_lag (
+    seconds DOUBLE
+);